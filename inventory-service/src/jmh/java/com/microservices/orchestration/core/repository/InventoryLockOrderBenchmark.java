@@ -0,0 +1,162 @@
+package com.microservices.orchestration.core.repository;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class InventoryLockOrderBenchmark {
+
+    private static final String REQUEST_ORDER = "request-order";
+    private static final String DEADLOCK_DETECTED = "40P01";
+    private static final String DATABASE_URL = "jdbc:postgresql://%s:%s/%s";
+    private static final int PRODUCTS = 4;
+    private static final int INITIAL_STOCK = 1_000_000_000;
+    private static final int ORDER_QUANTITY = 1;
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS inventory_lock_benchmark (id INTEGER PRIMARY KEY, product_code VARCHAR(255) NOT NULL, available INTEGER NOT NULL)";
+    private static final String RESET_STOCK = "INSERT INTO inventory_lock_benchmark (id, product_code, available) VALUES (?, ?, ?) ON CONFLICT (id) DO UPDATE SET available = EXCLUDED.available";
+    private static final String DROP_TABLE = "DROP TABLE IF EXISTS inventory_lock_benchmark";
+    private static final String DECREASE_ONE = "UPDATE inventory_lock_benchmark SET available = available - ? WHERE id = ? AND available >= ?";
+    private static final String LOCK_ORDERED = "SELECT id FROM inventory_lock_benchmark WHERE id = ANY(?) ORDER BY id FOR UPDATE";
+    private static final String DECREASE_ALL = """
+            UPDATE inventory_lock_benchmark i
+            SET available = i.available - r.quantity
+            FROM (SELECT id, SUM(quantity) AS quantity FROM unnest(?, ?) AS t(id, quantity) GROUP BY id) r
+            WHERE i.id = r.id AND i.available >= r.quantity
+            """;
+
+    @Param({ "request-order", "canonical-order" })
+    public String strategy;
+
+    private final AtomicLong reservations = new AtomicLong();
+    private final AtomicLong deadlocks = new AtomicLong();
+
+    @State(Scope.Thread)
+    public static class Session {
+
+        private Connection connection;
+
+        @Setup
+        public void open() throws SQLException {
+            connection = connect();
+            connection.setAutoCommit(false);
+        }
+
+        @TearDown
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Setup
+    public void createTable() throws SQLException {
+        try (var connection = connect(); var statement = connection.createStatement()) {
+            statement.execute(CREATE_TABLE);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStock() throws SQLException {
+        try (var connection = connect(); var statement = connection.prepareStatement(RESET_STOCK)) {
+            for (var id = 1; id <= PRODUCTS; id++) {
+                statement.setInt(1, id);
+                statement.setString(2, "PRODUCT_" + id);
+                statement.setInt(3, INITIAL_STOCK);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        reservations.set(0);
+        deadlocks.set(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void printDeadlocks() {
+        System.out.printf("%n%s: %d reservations, %d deadlocks%n", strategy, reservations.get(), deadlocks.get());
+    }
+
+    @TearDown
+    public void dropTable() throws SQLException {
+        try (var connection = connect(); var statement = connection.createStatement()) {
+            statement.execute(DROP_TABLE);
+        }
+    }
+
+    @Benchmark
+    public boolean reserve(Session session) throws SQLException {
+        var products = randomProducts();
+        try {
+            if (REQUEST_ORDER.equals(strategy)) {
+                decreaseInRequestOrder(session.connection, products);
+            } else {
+                decreaseInCanonicalOrder(session.connection, products);
+            }
+            session.connection.commit();
+            reservations.incrementAndGet();
+            return true;
+        } catch (SQLException ex) {
+            session.connection.rollback();
+            if (!DEADLOCK_DETECTED.equals(ex.getSQLState())) {
+                throw ex;
+            }
+            deadlocks.incrementAndGet();
+            return false;
+        }
+    }
+
+    private void decreaseInRequestOrder(Connection connection, List<Integer> products) throws SQLException {
+        try (var statement = connection.prepareStatement(DECREASE_ONE)) {
+            for (var id : products) {
+                statement.setInt(1, ORDER_QUANTITY);
+                statement.setInt(2, id);
+                statement.setInt(3, ORDER_QUANTITY);
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    private void decreaseInCanonicalOrder(Connection connection, List<Integer> products) throws SQLException {
+        var ids = connection.createArrayOf("integer", products.toArray());
+        try (var statement = connection.prepareStatement(LOCK_ORDERED)) {
+            statement.setArray(1, ids);
+            statement.executeQuery().close();
+        }
+        try (var statement = connection.prepareStatement(DECREASE_ALL)) {
+            statement.setArray(1, ids);
+            statement.setArray(2, connection.createArrayOf("integer", Collections.nCopies(products.size(), ORDER_QUANTITY).toArray()));
+            statement.executeUpdate();
+        }
+    }
+
+    private static List<Integer> randomProducts() {
+        var random = ThreadLocalRandom.current();
+        var products = new ArrayList<>(IntStream.rangeClosed(1, PRODUCTS).boxed().toList());
+        Collections.shuffle(products, random);
+        return products.subList(0, random.nextInt(2, PRODUCTS + 1));
+    }
+
+    private static Connection connect() throws SQLException {
+        var url = String.format(DATABASE_URL, getEnv("DB_HOST", "localhost"), getEnv("DB_PORT", "5434"), getEnv("DB_NAME", "inventory-db"));
+        return DriverManager.getConnection(url, getEnv("DB_USER", "postgres"), getEnv("DB_PASSWORD", "postgres"));
+    }
+
+    private static String getEnv(String name, String defaultValue) {
+        return Optional
+                .ofNullable(System.getenv(name))
+                .orElse(defaultValue);
+    }
+}
@@ -0,0 +1,140 @@
+package com.microservices.orchestration.core.repository;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class InventoryReservationBenchmark {
+
+    private static final String READ_MODIFY_WRITE = "read-modify-write";
+    private static final String DATABASE_URL = "jdbc:postgresql://%s:%s/%s";
+    private static final int INVENTORY_ID = 1;
+    private static final int INITIAL_STOCK = 1_000_000_000;
+    private static final int ORDER_QUANTITY = 1;
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS inventory_benchmark (id INTEGER PRIMARY KEY, product_code VARCHAR(255) NOT NULL, available INTEGER NOT NULL)";
+    private static final String RESET_STOCK = "INSERT INTO inventory_benchmark (id, product_code, available) VALUES (?, 'BOOKS', ?) ON CONFLICT (id) DO UPDATE SET available = EXCLUDED.available";
+    private static final String DROP_TABLE = "DROP TABLE IF EXISTS inventory_benchmark";
+    private static final String SELECT_AVAILABLE = "SELECT available FROM inventory_benchmark WHERE id = ?";
+    private static final String UPDATE_AVAILABLE = "UPDATE inventory_benchmark SET available = ? WHERE id = ?";
+    private static final String DECREASE_AVAILABLE = "UPDATE inventory_benchmark SET available = available - ? WHERE id = ? AND available >= ? RETURNING available";
+
+    @Param({ "read-modify-write", "conditional-update" })
+    public String strategy;
+
+    private final AtomicLong reservedUnits = new AtomicLong();
+
+    @State(Scope.Thread)
+    public static class Session {
+
+        private Connection connection;
+        private PreparedStatement selectAvailable;
+        private PreparedStatement updateAvailable;
+        private PreparedStatement decreaseAvailable;
+
+        @Setup
+        public void open() throws SQLException {
+            connection = connect();
+            selectAvailable = connection.prepareStatement(SELECT_AVAILABLE);
+            updateAvailable = connection.prepareStatement(UPDATE_AVAILABLE);
+            decreaseAvailable = connection.prepareStatement(DECREASE_AVAILABLE);
+        }
+
+        @TearDown
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Setup
+    public void createTable() throws SQLException {
+        try (var connection = connect(); var statement = connection.createStatement()) {
+            statement.execute(CREATE_TABLE);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStock() throws SQLException {
+        try (var connection = connect(); var statement = connection.prepareStatement(RESET_STOCK)) {
+            statement.setInt(1, INVENTORY_ID);
+            statement.setInt(2, INITIAL_STOCK);
+            statement.executeUpdate();
+        }
+        reservedUnits.set(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkOversold() throws SQLException {
+        try (var connection = connect(); var statement = connection.prepareStatement(SELECT_AVAILABLE)) {
+            statement.setInt(1, INVENTORY_ID);
+            try (var result = statement.executeQuery()) {
+                result.next();
+                var decreasedUnits = INITIAL_STOCK - result.getInt(1);
+                System.out.printf("%n%s: %d units reserved, %d units oversold%n", strategy, reservedUnits.get(), reservedUnits.get() - decreasedUnits);
+            }
+        }
+    }
+
+    @TearDown
+    public void dropTable() throws SQLException {
+        try (var connection = connect(); var statement = connection.createStatement()) {
+            statement.execute(DROP_TABLE);
+        }
+    }
+
+    @Benchmark
+    public boolean reserve(Session session) throws SQLException {
+        var available = READ_MODIFY_WRITE.equals(strategy) ? readModifyWrite(session) : conditionalUpdate(session);
+        if (available.isEmpty()) {
+            return false;
+        }
+        reservedUnits.addAndGet(ORDER_QUANTITY);
+        return true;
+    }
+
+    private Optional<Integer> readModifyWrite(Session session) throws SQLException {
+        session.selectAvailable.setInt(1, INVENTORY_ID);
+        int available;
+        try (var result = session.selectAvailable.executeQuery()) {
+            result.next();
+            available = result.getInt(1);
+        }
+        if (ORDER_QUANTITY > available) {
+            return Optional.empty();
+        }
+        session.updateAvailable.setInt(1, available - ORDER_QUANTITY);
+        session.updateAvailable.setInt(2, INVENTORY_ID);
+        session.updateAvailable.executeUpdate();
+        return Optional.of(available - ORDER_QUANTITY);
+    }
+
+    private Optional<Integer> conditionalUpdate(Session session) throws SQLException {
+        session.decreaseAvailable.setInt(1, ORDER_QUANTITY);
+        session.decreaseAvailable.setInt(2, INVENTORY_ID);
+        session.decreaseAvailable.setInt(3, ORDER_QUANTITY);
+        try (var result = session.decreaseAvailable.executeQuery()) {
+            return result.next() ? Optional.of(result.getInt(1)) : Optional.empty();
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        var url = String.format(DATABASE_URL, getEnv("DB_HOST", "localhost"), getEnv("DB_PORT", "5434"), getEnv("DB_NAME", "inventory-db"));
+        return DriverManager.getConnection(url, getEnv("DB_USER", "postgres"), getEnv("DB_PASSWORD", "postgres"));
+    }
+
+    private static String getEnv(String name, String defaultValue) {
+        return Optional
+                .ofNullable(System.getenv(name))
+                .orElse(defaultValue);
+    }
+}
@@ -0,0 +1,35 @@
+package com.microservices.orchestration.core.reservation;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(16)
+public class StripedStockBenchmark {
+
+    private static final int REFILL_QUANTITY = 1_000_000;
+    private static final int ORDER_QUANTITY = 1;
+
+    @Param({ "1", "16" })
+    public int stripesCount;
+
+    private StripedStock stock;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        stock = new StripedStock(stripesCount);
+        stock.give(REFILL_QUANTITY);
+    }
+
+    @Benchmark
+    public boolean reserve() {
+        if (stock.tryTake(ORDER_QUANTITY)) {
+            return true;
+        }
+        stock.give(REFILL_QUANTITY);
+        return false;
+    }
+}
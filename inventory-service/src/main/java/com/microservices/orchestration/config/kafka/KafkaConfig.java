@@ -1,37 +1,18 @@
 package com.microservices.orchestration.config.kafka;
 
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.orchestration.commons.dto.Event;
+import com.microservices.orchestration.commons.kafka.SagaKafkaConfig;
 import org.apache.kafka.clients.admin.NewTopic;
-import org.apache.kafka.clients.consumer.ConsumerConfig;
-import org.apache.kafka.clients.producer.ProducerConfig;
-import org.apache.kafka.common.serialization.StringDeserializer;
-import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.kafka.annotation.EnableKafka;
-import org.springframework.kafka.config.TopicBuilder;
-import org.springframework.kafka.core.*;
-
-import java.util.HashMap;
-import java.util.Map;
 
 @EnableKafka
 @Configuration
-@RequiredArgsConstructor
-public class KafkaConfig {
-
-    private static final Integer PARTITIONS_COUNT = 1;
-    private static final Integer REPLICAS_COUNT = 1;
-
-    @Value("${spring.kafka.bootstrap-servers}")
-    private String bootstrapServers;
-
-    @Value("${spring.kafka.consumer.group-id}")
-    private String groupId;
-
-    @Value("${spring.kafka.consumer.auto-offset-reset}")
-    private String autoOffsetReset;
+public class KafkaConfig extends SagaKafkaConfig<Event> {
 
     @Value("${spring.kafka.topic.orchestrator}")
     private String orchestratorTopic;
@@ -42,45 +23,8 @@ public class KafkaConfig {
     @Value("${spring.kafka.topic.inventory-fail}")
     private String inventoryFailTopic;
 
-    @Bean
-    public ConsumerFactory<String, String> consumerFactory() {
-        return new DefaultKafkaConsumerFactory<String, String>(consumerProps());
-    }
-
-    private Map<String, Object> consumerProps() {
-        var props = new HashMap<String, Object>();
-        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
-        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, autoOffsetReset);
-        return props;
-    }
-
-    @Bean
-    public ProducerFactory<String, String> producerFactory() {
-        return new DefaultKafkaProducerFactory<>(producerProps());
-    }
-
-    private Map<String, Object> producerProps() {
-        var props = new HashMap<String, Object>();
-        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        return props;
-    }
-
-    @Bean
-    public KafkaTemplate<String, String> kafkaTemplate(ProducerFactory<String, String> producerFactory) {
-        return new KafkaTemplate<>(producerFactory);
-    }
-
-    private NewTopic buildTopic(String name) {
-        return TopicBuilder
-                .name(name)
-                .replicas(REPLICAS_COUNT)
-                .partitions(PARTITIONS_COUNT)
-                .build();
+    public KafkaConfig(Environment environment, ObjectMapper objectMapper) {
+        super(environment, objectMapper, Event.class);
     }
 
     @Bean
@@ -97,4 +41,14 @@ public class KafkaConfig {
     public NewTopic inventoryFailTopic() {
         return buildTopic(inventoryFailTopic);
     }
+
+    @Bean
+    public NewTopic inventorySuccessDeadLetterTopic() {
+        return buildDeadLetterTopic(inventorySuccessTopic);
+    }
+
+    @Bean
+    public NewTopic inventoryFailDeadLetterTopic() {
+        return buildDeadLetterTopic(inventoryFailTopic);
+    }
 }
@@ -0,0 +1,9 @@
+package com.microservices.orchestration.core.enums;
+
+public enum EJournalEntryType {
+    CHECKPOINT,
+    LEASE,
+    RESERVE,
+    CANCEL,
+    RELEASE
+}
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.PartitionKey;
+import org.springframework.util.ObjectUtils;
 
 import java.time.LocalDateTime;
 
@@ -13,11 +15,11 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "order_inventory")
+@Table(name = "order_inventory", indexes = @Index(name = "idx_order_inventory_transaction_order", columnList = "transaction_id, order_id"))
 public class OrderInventory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Integer id;
 
     @ManyToOne
@@ -39,6 +41,10 @@ public class OrderInventory {
     @Column(nullable = false)
     private Integer newQuantity;
 
+    @Column(nullable = false)
+    private Boolean compensated;
+
+    @PartitionKey
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -48,8 +54,13 @@ public class OrderInventory {
     @PrePersist
     public void prePersist() {
         var now = LocalDateTime.now();
-        createdAt = now;
+        if (ObjectUtils.isEmpty(createdAt)) {
+            createdAt = now;
+        }
         updatedAt = now;
+        if (compensated == null) {
+            compensated = false;
+        }
     }
 
     @PreUpdate
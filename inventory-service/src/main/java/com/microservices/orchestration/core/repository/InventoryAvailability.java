@@ -0,0 +1,8 @@
+package com.microservices.orchestration.core.repository;
+
+public interface InventoryAvailability {
+
+    Integer getId();
+
+    Integer getAvailable();
+}
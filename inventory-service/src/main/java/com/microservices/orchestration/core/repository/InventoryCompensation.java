@@ -0,0 +1,8 @@
+package com.microservices.orchestration.core.repository;
+
+public interface InventoryCompensation {
+
+    String getProductCode();
+
+    Integer getQuantity();
+}
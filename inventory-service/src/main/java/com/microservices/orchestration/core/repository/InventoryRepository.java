@@ -1,11 +1,69 @@
 package com.microservices.orchestration.core.repository;
 
 import com.microservices.orchestration.core.model.Inventory;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface InventoryRepository extends JpaRepository<Inventory, Integer> {
 
     Optional<Inventory> findByProductCode(String productCode);
+
+    List<Inventory> findByProductCodeIn(Collection<String> productCodes);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Inventory> findByProductCodeInOrderById(Collection<String> productCodes);
+
+    @Transactional
+    @Query(value = """
+            UPDATE inventory i
+            SET available = i.available - r.quantity
+            FROM (SELECT id, SUM(quantity) AS quantity FROM unnest(:ids, :quantities) AS t(id, quantity) GROUP BY id) r
+            WHERE i.id = r.id AND i.available >= r.quantity
+            RETURNING i.id AS id, i.available AS available
+            """, nativeQuery = true)
+    List<InventoryAvailability> decreaseAvailable(Integer[] ids, Integer[] quantities);
+
+    @Transactional
+    @Query(value = """
+            UPDATE inventory i
+            SET available = i.available - l.quantity
+            FROM (SELECT id, LEAST(available, :quantity) AS quantity FROM inventory WHERE id = :id FOR UPDATE) l
+            WHERE i.id = l.id
+            RETURNING l.quantity
+            """, nativeQuery = true)
+    Integer leaseAvailable(Integer id, Integer quantity);
+
+    @Transactional
+    @Query(value = """
+            WITH compensated AS (
+                UPDATE order_inventory o
+                SET compensated = true, updated_at = LOCALTIMESTAMP
+                WHERE o.order_id = :orderId AND o.transaction_id = :transactionId AND o.created_at = :createdAt AND NOT o.compensated
+                RETURNING o.inventory_id, o.order_quantity
+            ), returned AS (
+                SELECT inventory_id AS id, CAST(SUM(order_quantity) AS INTEGER) AS quantity FROM compensated GROUP BY inventory_id
+            ), locked AS MATERIALIZED (
+                SELECT i.id FROM inventory i JOIN returned r ON r.id = i.id ORDER BY i.id FOR UPDATE OF i
+            )
+            UPDATE inventory i
+            SET available = i.available + r.quantity
+            FROM returned r JOIN locked l ON l.id = r.id
+            WHERE i.id = r.id
+            RETURNING i.product_code AS productCode, r.quantity AS quantity
+            """, nativeQuery = true)
+    List<InventoryCompensation> returnOrderQuantities(String orderId, String transactionId, LocalDateTime createdAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Inventory i SET i.available = i.available + :quantity WHERE i.id = :id")
+    int increaseAvailable(Integer id, Integer quantity);
 }
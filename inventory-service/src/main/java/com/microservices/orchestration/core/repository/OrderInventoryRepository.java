@@ -2,11 +2,33 @@ package com.microservices.orchestration.core.repository;
 
 import com.microservices.orchestration.core.model.OrderInventory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface OrderInventoryRepository extends JpaRepository<OrderInventory, Integer> {
 
-    Boolean existsByOrderIdAndTransactionId(String orderId, String transactionId);
-    List<OrderInventory> findByOrderIdAndTransactionId(String orderId, String transactionId);
+    @Query("""
+            SELECT DISTINCT new com.microservices.orchestration.core.repository.ProcessedOrder(o.orderId, o.transactionId, o.compensated)
+            FROM OrderInventory o
+            WHERE o.orderId = :orderId AND o.transactionId = :transactionId AND o.createdAt = :createdAt
+            """)
+    Optional<ProcessedOrder> findProcessedOrder(String orderId, String transactionId, LocalDateTime createdAt);
+
+    @Query("""
+            SELECT DISTINCT new com.microservices.orchestration.core.repository.ProcessedOrder(o.orderId, o.transactionId, o.compensated)
+            FROM OrderInventory o
+            WHERE o.transactionId IN :transactionIds AND o.createdAt BETWEEN :from AND :to
+            """)
+    List<ProcessedOrder> findProcessedOrders(Collection<String> transactionIds, LocalDateTime from, LocalDateTime to);
+
+    @Query("""
+            SELECT new com.microservices.orchestration.core.repository.OrderProductTransaction(o.orderId, o.transactionId, o.inventory.productCode)
+            FROM OrderInventory o
+            WHERE o.transactionId IN :transactionIds AND o.createdAt BETWEEN :from AND :to
+            """)
+    List<OrderProductTransaction> findProducts(Collection<String> transactionIds, LocalDateTime from, LocalDateTime to);
 }
@@ -0,0 +1,4 @@
+package com.microservices.orchestration.core.repository;
+
+public record OrderProductTransaction(String orderId, String transactionId, String productCode) {
+}
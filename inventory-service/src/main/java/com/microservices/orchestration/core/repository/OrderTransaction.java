@@ -0,0 +1,4 @@
+package com.microservices.orchestration.core.repository;
+
+public record OrderTransaction(String orderId, String transactionId) {
+}
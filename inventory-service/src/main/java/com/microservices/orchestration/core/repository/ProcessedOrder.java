@@ -0,0 +1,4 @@
+package com.microservices.orchestration.core.repository;
+
+public record ProcessedOrder(String orderId, String transactionId, boolean compensated) {
+}
@@ -0,0 +1,335 @@
+package com.microservices.orchestration.core.reservation;
+
+import com.microservices.orchestration.commons.dto.Event;
+import com.microservices.orchestration.commons.dto.OrderProducts;
+import com.microservices.orchestration.config.exception.ValidationException;
+import com.microservices.orchestration.core.enums.EJournalEntryType;
+import com.microservices.orchestration.core.model.Inventory;
+import com.microservices.orchestration.core.model.OrderInventory;
+import com.microservices.orchestration.core.repository.InventoryRepository;
+import com.microservices.orchestration.core.repository.OrderInventoryRepository;
+import com.microservices.orchestration.core.repository.OrderProductTransaction;
+import com.microservices.orchestration.core.repository.OrderTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class ReservationEngine {
+
+    private final Map<String, Inventory> inventoriesByProductCode = new ConcurrentHashMap<>();
+    private final Map<String, StripedStock> stocksByProductCode = new ConcurrentHashMap<>();
+    private final Set<String> activeProductCodes = ConcurrentHashMap.newKeySet();
+    private final Set<OrderTransaction> pendingOrders = ConcurrentHashMap.newKeySet();
+    private final List<ReservationJournal.ClosedSegment> unflushedSegments = new ArrayList<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final InventoryRepository inventoryRepository;
+    private final OrderInventoryRepository orderInventoryRepository;
+    private final ReservationJournal reservationJournal;
+    private final Set<String> hotProductCodes;
+    private final int leaseSize;
+    private final int stripesCount;
+
+    public ReservationEngine(InventoryRepository inventoryRepository,
+                             OrderInventoryRepository orderInventoryRepository,
+                             ReservationJournal reservationJournal,
+                             @Value("${inventory.reservation.hot-skus}") Set<String> hotProductCodes,
+                             @Value("${inventory.reservation.lease-size}") int leaseSize) {
+        this.inventoryRepository = inventoryRepository;
+        this.orderInventoryRepository = orderInventoryRepository;
+        this.reservationJournal = reservationJournal;
+        this.hotProductCodes = hotProductCodes;
+        this.leaseSize = leaseSize;
+        this.stripesCount = Runtime.getRuntime().availableProcessors();
+    }
+
+    @PostConstruct
+    public void recover() {
+        if (hotProductCodes.isEmpty() && !reservationJournal.exists()) {
+            return;
+        }
+        var replay = reservationJournal.replay();
+        var productCodes = new HashSet<>(hotProductCodes);
+        productCodes.addAll(replay.leases().keySet());
+        replay
+            .reservations()
+            .forEach(reservation -> reservation.getProducts().forEach(product -> productCodes.add(product.productCode())));
+        inventoryRepository
+            .findByProductCodeIn(productCodes)
+            .forEach(inventory -> inventoriesByProductCode.put(inventory.getProductCode(), inventory));
+        recoverOrderInventories(replay.reservations());
+        reservationJournal.reset(replay.leases());
+        hotProductCodes
+            .stream()
+            .filter(inventoriesByProductCode::containsKey)
+            .forEach(productCode -> stocksByProductCode.put(productCode, new StripedStock(stripesCount)));
+        replay.leases().forEach((productCode, quantity) -> {
+            if (stocksByProductCode.containsKey(productCode)) {
+                stocksByProductCode.get(productCode).give(quantity);
+                log.info("Kept {} leased units of {} after restart", quantity, productCode);
+                return;
+            }
+            var stock = new StripedStock(1);
+            stock.give(quantity);
+            releaseLease(productCode, stock);
+            log.info("Returned {} leased units of {} to inventory after restart", quantity, productCode);
+        });
+        log.info("Reservation engine started for products {}", stocksByProductCode.keySet());
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            flush();
+            stocksByProductCode.forEach(this::releaseLease);
+        } catch (Exception ex) {
+            log.error("Error trying to flush reservations on shutdown: ", ex);
+        }
+        reservationJournal.close();
+    }
+
+    public boolean isPending(String orderId, String transactionId) {
+        return pendingOrders.contains(new OrderTransaction(orderId, transactionId));
+    }
+
+    public List<OrderProducts> reserve(Event event) {
+        var products = event.getPayload().getProducts();
+        var hotProducts = products
+                .stream()
+                .filter(product -> stocksByProductCode.containsKey(product.getProduct().getCode()))
+                .toList();
+        if (hotProducts.isEmpty()) {
+            return products;
+        }
+        var quantities = new LinkedHashMap<String, Integer>();
+        hotProducts.forEach(product -> quantities.merge(product.getProduct().getCode(), product.getQuantity(), Integer::sum));
+        var order = new OrderTransaction(event.getPayload().getId(), event.getTransactionId());
+        var taken = new LinkedHashMap<String, Integer>();
+        pendingOrders.add(order);
+        try {
+            quantities.forEach((productCode, quantity) -> {
+                if (!take(productCode, quantity)) {
+                    throw new ValidationException("Product is out of stock!");
+                }
+                taken.put(productCode, quantity);
+            });
+            reservationJournal.append(buildReservation(event, hotProducts, quantities));
+        } catch (Exception ex) {
+            taken.forEach((productCode, quantity) -> stocksByProductCode.get(productCode).give(quantity));
+            pendingOrders.remove(order);
+            throw ex;
+        }
+        activeProductCodes.addAll(quantities.keySet());
+        return products
+                .stream()
+                .filter(product -> !stocksByProductCode.containsKey(product.getProduct().getCode()))
+                .toList();
+    }
+
+    public void cancel(Event event) {
+        var order = new OrderTransaction(event.getPayload().getId(), event.getTransactionId());
+        if (!pendingOrders.contains(order)) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            reservationJournal
+                    .findReservation(order.orderId(), order.transactionId())
+                    .or(() -> findUnflushedReservation(order))
+                    .ifPresent(reservation -> {
+                        reservationJournal.cancel(reservation);
+                        unflushedSegments.forEach(segment -> segment.reservations().remove(reservation));
+                        reservation
+                                .getProducts()
+                                .forEach(product -> stocksByProductCode.get(product.productCode()).give(product.orderQuantity()));
+                        pendingOrders.remove(order);
+                    });
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public void flush() {
+        if (stocksByProductCode.isEmpty()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            reservationJournal.rotate().ifPresent(unflushedSegments::add);
+            if (!unflushedSegments.isEmpty()) {
+                var reservations = unflushedSegments
+                        .stream()
+                        .flatMap(segment -> segment.reservations().stream())
+                        .toList();
+                saveOrderInventories(reservations);
+                reservationJournal.deleteThrough(unflushedSegments.getLast().segment());
+                unflushedSegments.clear();
+                reservations.forEach(reservation -> pendingOrders.remove(new OrderTransaction(reservation.getOrderId(), reservation.getTransactionId())));
+            }
+            stocksByProductCode.forEach((productCode, stock) -> {
+                if (!activeProductCodes.remove(productCode)) {
+                    releaseLease(productCode, stock);
+                }
+            });
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private Optional<ReservationJournalEntry> findUnflushedReservation(OrderTransaction order) {
+        return unflushedSegments
+                .stream()
+                .flatMap(segment -> segment.reservations().stream())
+                .filter(reservation -> order.orderId().equals(reservation.getOrderId()) && order.transactionId().equals(reservation.getTransactionId()))
+                .findFirst();
+    }
+
+    private boolean take(String productCode, int quantity) {
+        var stock = stocksByProductCode.get(productCode);
+        if (stock.tryTake(quantity)) {
+            return true;
+        }
+        stock.getRefillLock().lock();
+        var drained = 0;
+        try {
+            if (stock.tryTake(quantity)) {
+                return true;
+            }
+            drained = stock.drain();
+            if (drained < quantity) {
+                drained += lease(productCode, Math.max(leaseSize, quantity - drained));
+            }
+            if (drained < quantity) {
+                return false;
+            }
+            drained -= quantity;
+            return true;
+        } finally {
+            stock.give(drained);
+            stock.getRefillLock().unlock();
+        }
+    }
+
+    private int lease(String productCode, int quantity) {
+        var granted = inventoryRepository.leaseAvailable(inventoriesByProductCode.get(productCode).getId(), quantity);
+        if (granted > 0) {
+            reservationJournal.append(buildLeaseEntry(EJournalEntryType.LEASE, productCode, granted));
+        }
+        return granted;
+    }
+
+    private void releaseLease(String productCode, StripedStock stock) {
+        stock.getRefillLock().lock();
+        try {
+            var drained = stock.drain();
+            if (drained == 0) {
+                return;
+            }
+            reservationJournal.append(buildLeaseEntry(EJournalEntryType.RELEASE, productCode, drained));
+            try {
+                inventoryRepository.increaseAvailable(inventoriesByProductCode.get(productCode).getId(), drained);
+            } catch (RuntimeException ex) {
+                reservationJournal.append(buildLeaseEntry(EJournalEntryType.LEASE, productCode, drained));
+                stock.give(drained);
+                throw ex;
+            }
+        } finally {
+            stock.getRefillLock().unlock();
+        }
+    }
+
+    private ReservationJournalEntry buildLeaseEntry(EJournalEntryType type, String productCode, int quantity) {
+        return ReservationJournalEntry
+                .builder()
+                .type(type)
+                .productCode(productCode)
+                .quantity(quantity)
+                .build();
+    }
+
+    private ReservationJournalEntry buildReservation(Event event, List<OrderProducts> hotProducts, Map<String, Integer> quantities) {
+        var stock = quantities
+                .keySet()
+                .stream()
+                .collect(Collectors.toMap(Function.identity(), productCode -> stocksByProductCode.get(productCode).available() + quantities.get(productCode)));
+        var products = new ArrayList<ReservedProduct>();
+        hotProducts.forEach(product -> {
+            var productCode = product.getProduct().getCode();
+            var oldQuantity = stock.get(productCode);
+            products.add(new ReservedProduct(productCode, product.getQuantity(), oldQuantity));
+            stock.put(productCode, oldQuantity - product.getQuantity());
+        });
+        return ReservationJournalEntry
+                .builder()
+                .type(EJournalEntryType.RESERVE)
+                .orderId(event.getPayload().getId())
+                .transactionId(event.getTransactionId())
+                .products(products)
+                .createdAt(event.sagaCreatedAt())
+                .build();
+    }
+
+    private void saveOrderInventories(List<ReservationJournalEntry> reservations) {
+        orderInventoryRepository.saveAll(buildOrderInventories(reservations
+                .stream()
+                .flatMap(reservation -> reservation
+                        .getProducts()
+                        .stream()
+                        .map(product -> Map.entry(reservation, product)))
+                .toList()));
+    }
+
+    private void recoverOrderInventories(List<ReservationJournalEntry> reservations) {
+        if (reservations.isEmpty()) {
+            return;
+        }
+        var transactionIds = reservations
+                .stream()
+                .map(ReservationJournalEntry::getTransactionId)
+                .collect(Collectors.toSet());
+        var createdAts = reservations
+                .stream()
+                .map(ReservationJournalEntry::getCreatedAt)
+                .sorted()
+                .toList();
+        var savedProducts = new HashSet<>(orderInventoryRepository.findProducts(transactionIds, createdAts.getFirst(), createdAts.getLast()));
+        orderInventoryRepository.saveAll(buildOrderInventories(reservations
+                .stream()
+                .flatMap(reservation -> reservation
+                        .getProducts()
+                        .stream()
+                        .filter(product -> !savedProducts.contains(new OrderProductTransaction(reservation.getOrderId(), reservation.getTransactionId(), product.productCode())))
+                        .map(product -> Map.entry(reservation, product)))
+                .toList()));
+    }
+
+    private List<OrderInventory> buildOrderInventories(List<Map.Entry<ReservationJournalEntry, ReservedProduct>> reservedProducts) {
+        return reservedProducts
+                .stream()
+                .map(reservedProduct -> {
+                    var reservation = reservedProduct.getKey();
+                    var product = reservedProduct.getValue();
+                    return OrderInventory
+                            .builder()
+                            .inventory(inventoriesByProductCode.get(product.productCode()))
+                            .oldQuantity(product.oldQuantity())
+                            .orderQuantity(product.orderQuantity())
+                            .newQuantity(product.oldQuantity() - product.orderQuantity())
+                            .orderId(reservation.getOrderId())
+                            .transactionId(reservation.getTransactionId())
+                            .createdAt(reservation.getCreatedAt())
+                            .build();
+                })
+                .toList();
+    }
+}
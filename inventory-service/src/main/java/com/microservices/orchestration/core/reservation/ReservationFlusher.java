@@ -0,0 +1,23 @@
+package com.microservices.orchestration.core.reservation;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+public class ReservationFlusher {
+
+    private final ReservationEngine reservationEngine;
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.flush-interval}")
+    public void flush() {
+        try {
+            reservationEngine.flush();
+        } catch (Exception ex) {
+            log.error("Error trying to flush inventory reservations: ", ex);
+        }
+    }
+}
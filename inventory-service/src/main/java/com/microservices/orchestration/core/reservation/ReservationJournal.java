@@ -0,0 +1,238 @@
+package com.microservices.orchestration.core.reservation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.orchestration.core.enums.EJournalEntryType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.nio.file.StandardOpenOption.*;
+
+@Slf4j
+@Component
+public class ReservationJournal {
+
+    private static final String SEGMENT_FILE = "reservation-journal-%d.log";
+    private static final Pattern SEGMENT_PATTERN = Pattern.compile("reservation-journal-(\\d+)\\.log");
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final boolean fsync;
+
+    private final Map<String, Integer> carriedLeases = new HashMap<>();
+    private final Map<String, Integer> segmentLeases = new HashMap<>();
+    private List<ReservationJournalEntry> segmentReservations = new ArrayList<>();
+
+    private FileChannel channel;
+    private BufferedWriter writer;
+    private long segment;
+
+    public ReservationJournal(ObjectMapper objectMapper,
+                              @Value("${inventory.reservation.journal.directory}") String directory,
+                              @Value("${inventory.reservation.journal.fsync}") boolean fsync) {
+        this.objectMapper = objectMapper;
+        this.directory = Path.of(directory);
+        this.fsync = fsync;
+    }
+
+    public boolean exists() {
+        return Files.isDirectory(directory);
+    }
+
+    public synchronized ReservationJournalReplay replay() {
+        var leases = new HashMap<String, Integer>();
+        var reservations = new ArrayList<ReservationJournalEntry>();
+        try {
+            Files.createDirectories(directory);
+            for (var segmentNumber : listSegments()) {
+                leases.clear();
+                try (var lines = Files.lines(segmentFile(segmentNumber), StandardCharsets.UTF_8)) {
+                    lines.forEach(line -> replayEntry(leases, reservations, line));
+                }
+                segment = segmentNumber;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Error trying to replay reservation journal " + directory, ex);
+        }
+        leases.values().removeIf(quantity -> quantity <= 0);
+        log.info("Reservation journal replayed from {} with {} reservations not flushed", directory, reservations.size());
+        return new ReservationJournalReplay(leases, reservations);
+    }
+
+    public synchronized void reset(Map<String, Integer> leases) {
+        try {
+            close();
+            var segments = listSegments();
+            carriedLeases.clear();
+            carriedLeases.putAll(leases);
+            segmentLeases.clear();
+            segmentReservations = new ArrayList<>();
+            openSegment(segment + 1);
+            for (var segmentNumber : segments) {
+                Files.deleteIfExists(segmentFile(segmentNumber));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Error trying to reset reservation journal " + directory, ex);
+        }
+    }
+
+    public synchronized void append(ReservationJournalEntry entry) {
+        try {
+            writer.write(objectMapper.writeValueAsString(entry));
+            writer.newLine();
+            writer.flush();
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Error trying to append to reservation journal " + directory, ex);
+        }
+        applyEntry(segmentLeases, entry);
+        if (entry.getType() == EJournalEntryType.RESERVE) {
+            segmentReservations.add(entry);
+        }
+    }
+
+    public synchronized Optional<ReservationJournalEntry> findReservation(String orderId, String transactionId) {
+        return segmentReservations
+                .stream()
+                .filter(reservation -> isReservationOf(reservation, orderId, transactionId))
+                .findFirst();
+    }
+
+    public synchronized void cancel(ReservationJournalEntry reservation) {
+        append(ReservationJournalEntry
+                .builder()
+                .type(EJournalEntryType.CANCEL)
+                .orderId(reservation.getOrderId())
+                .transactionId(reservation.getTransactionId())
+                .products(reservation.getProducts())
+                .build());
+        segmentReservations.remove(reservation);
+    }
+
+    public synchronized Optional<ClosedSegment> rotate() {
+        if (segmentReservations.isEmpty()) {
+            return Optional.empty();
+        }
+        var closed = new ClosedSegment(segment, segmentReservations);
+        segmentLeases.forEach((productCode, quantity) -> carriedLeases.merge(productCode, quantity, Integer::sum));
+        segmentLeases.clear();
+        segmentReservations = new ArrayList<>();
+        try {
+            close();
+            openSegment(segment + 1);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Error trying to rotate reservation journal " + directory, ex);
+        }
+        return Optional.of(closed);
+    }
+
+    public synchronized void deleteThrough(long segmentNumber) {
+        try {
+            for (var closedSegment : listSegments()) {
+                if (closedSegment <= segmentNumber) {
+                    Files.deleteIfExists(segmentFile(closedSegment));
+                }
+            }
+        } catch (IOException ex) {
+            log.error("Error trying to delete reservation journal segments through {}", segmentNumber, ex);
+        }
+    }
+
+    public synchronized void close() {
+        try {
+            if (writer != null) {
+                writer.close();
+            }
+        } catch (IOException ex) {
+            log.error("Error trying to close reservation journal {}", directory, ex);
+        }
+    }
+
+    private void openSegment(long segmentNumber) throws IOException {
+        segment = segmentNumber;
+        channel = FileChannel.open(segmentFile(segmentNumber), CREATE, WRITE, TRUNCATE_EXISTING);
+        writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+        var checkpoint = ReservationJournalEntry
+                .builder()
+                .type(EJournalEntryType.CHECKPOINT)
+                .leases(new HashMap<>(carriedLeases))
+                .build();
+        writer.write(objectMapper.writeValueAsString(checkpoint));
+        writer.newLine();
+        writer.flush();
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    private void replayEntry(Map<String, Integer> leases, List<ReservationJournalEntry> reservations, String line) {
+        if (line.isBlank()) {
+            return;
+        }
+        try {
+            var entry = objectMapper.readValue(line, ReservationJournalEntry.class);
+            applyEntry(leases, entry);
+            if (entry.getType() == EJournalEntryType.RESERVE) {
+                reservations.add(entry);
+            } else if (entry.getType() == EJournalEntryType.CANCEL) {
+                reservations.removeIf(reservation -> isReservationOf(reservation, entry.getOrderId(), entry.getTransactionId()));
+            }
+        } catch (Exception ex) {
+            log.warn("Skipping unreadable reservation journal entry: {}", line);
+        }
+    }
+
+    private void applyEntry(Map<String, Integer> leases, ReservationJournalEntry entry) {
+        switch (entry.getType()) {
+            case CHECKPOINT -> leases.putAll(entry.getLeases());
+            case LEASE -> leases.merge(entry.getProductCode(), entry.getQuantity(), Integer::sum);
+            case RELEASE -> leases.merge(entry.getProductCode(), -entry.getQuantity(), Integer::sum);
+            case RESERVE -> entry
+                    .getProducts()
+                    .forEach(product -> leases.merge(product.productCode(), -product.orderQuantity(), Integer::sum));
+            case CANCEL -> entry
+                    .getProducts()
+                    .forEach(product -> leases.merge(product.productCode(), product.orderQuantity(), Integer::sum));
+        }
+    }
+
+    private boolean isReservationOf(ReservationJournalEntry reservation, String orderId, String transactionId) {
+        return orderId.equals(reservation.getOrderId()) && transactionId.equals(reservation.getTransactionId());
+    }
+
+    private List<Long> listSegments() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files
+                    .map(file -> SEGMENT_PATTERN.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentFile(long segmentNumber) {
+        return directory.resolve(String.format(SEGMENT_FILE, segmentNumber));
+    }
+
+    public record ClosedSegment(long segment, List<ReservationJournalEntry> reservations) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.microservices.orchestration.core.reservation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.microservices.orchestration.core.enums.EJournalEntryType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReservationJournalEntry {
+
+    private EJournalEntryType type;
+    private String productCode;
+    private Integer quantity;
+    private String orderId;
+    private String transactionId;
+    private List<ReservedProduct> products;
+    private Map<String, Integer> leases;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,7 @@
+package com.microservices.orchestration.core.reservation;
+
+import java.util.List;
+import java.util.Map;
+
+public record ReservationJournalReplay(Map<String, Integer> leases, List<ReservationJournalEntry> reservations) {
+}
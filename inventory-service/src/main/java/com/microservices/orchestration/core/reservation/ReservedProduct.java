@@ -0,0 +1,4 @@
+package com.microservices.orchestration.core.reservation;
+
+public record ReservedProduct(String productCode, int orderQuantity, int oldQuantity) {
+}
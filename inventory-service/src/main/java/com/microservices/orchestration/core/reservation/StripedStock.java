@@ -0,0 +1,67 @@
+package com.microservices.orchestration.core.reservation;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class StripedStock {
+
+    private static final int STRIPE_PADDING = 16;
+
+    @Getter
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private final AtomicIntegerArray stripes;
+    private final int stripesCount;
+
+    public StripedStock(int stripesCount) {
+        this.stripesCount = stripesCount;
+        this.stripes = new AtomicIntegerArray(stripesCount * STRIPE_PADDING);
+    }
+
+    public boolean tryTake(int quantity) {
+        var start = stripeIndex();
+        for (var i = 0; i < stripesCount; i++) {
+            var slot = ((start + i) % stripesCount) * STRIPE_PADDING;
+            var current = stripes.get(slot);
+            while (current >= quantity) {
+                if (stripes.compareAndSet(slot, current, current - quantity)) {
+                    return true;
+                }
+                current = stripes.get(slot);
+            }
+        }
+        return false;
+    }
+
+    public void give(int quantity) {
+        var share = quantity / stripesCount;
+        var remainder = quantity % stripesCount;
+        for (var i = 0; i < stripesCount; i++) {
+            var stripeQuantity = i < remainder ? share + 1 : share;
+            if (stripeQuantity > 0) {
+                stripes.addAndGet(i * STRIPE_PADDING, stripeQuantity);
+            }
+        }
+    }
+
+    public int drain() {
+        var drained = 0;
+        for (var i = 0; i < stripesCount; i++) {
+            drained += stripes.getAndSet(i * STRIPE_PADDING, 0);
+        }
+        return drained;
+    }
+
+    public int available() {
+        var available = 0;
+        for (var i = 0; i < stripesCount; i++) {
+            available += stripes.get(i * STRIPE_PADDING);
+        }
+        return available;
+    }
+
+    private int stripeIndex() {
+        return (int) (Thread.currentThread().threadId() % stripesCount);
+    }
+}
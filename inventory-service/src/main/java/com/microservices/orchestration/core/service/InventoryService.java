@@ -1,88 +1,298 @@
 package com.microservices.orchestration.core.service;
 
+import com.microservices.orchestration.commons.dto.Event;
+import com.microservices.orchestration.commons.dto.History;
+import com.microservices.orchestration.commons.dto.OrderProducts;
+import com.microservices.orchestration.commons.enums.EEventSource;
+import com.microservices.orchestration.commons.enums.ESagaStatus;
 import com.microservices.orchestration.config.exception.ValidationException;
-import com.microservices.orchestration.core.dto.Event;
-import com.microservices.orchestration.core.dto.History;
-import com.microservices.orchestration.core.dto.Order;
-import com.microservices.orchestration.core.dto.OrderProducts;
-import com.microservices.orchestration.core.enums.ESagaStatus;
 import com.microservices.orchestration.core.model.Inventory;
 import com.microservices.orchestration.core.model.OrderInventory;
 import com.microservices.orchestration.core.producer.KafkaProducer;
+import com.microservices.orchestration.core.repository.InventoryAvailability;
 import com.microservices.orchestration.core.repository.InventoryRepository;
 import com.microservices.orchestration.core.repository.OrderInventoryRepository;
-import com.microservices.orchestration.core.utils.JsonUtil;
+import com.microservices.orchestration.core.repository.OrderTransaction;
+import com.microservices.orchestration.core.repository.ProcessedOrder;
+import com.microservices.orchestration.core.reservation.ReservationEngine;
+import com.microservices.orchestration.core.utils.RetryingTransactionTemplate;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.util.ObjectUtils;
 
 import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @AllArgsConstructor
 public class InventoryService {
 
-    private static final String CURRENT_SOURCE = "INVENTORY_SERVICE";
+    private static final EEventSource CURRENT_SOURCE = EEventSource.INVENTORY_SERVICE;
 
-    private final JsonUtil jsonUtil;
     private final KafkaProducer kafkaProducer;
     private final InventoryRepository inventoryRepository;
     private final OrderInventoryRepository orderInventoryRepository;
+    private final RetryingTransactionTemplate retryingTransactionTemplate;
+    private final ReservationEngine reservationEngine;
 
-    public void updateInventory(Event event) {
+    public CompletableFuture<Void> updateInventory(Event event) {
         try {
-            checkCurrentValidation(event);
-            createOrderInventory(event);
-            updateInventory(event.getPayload());
-            handleSuccess(event);
+            if (isPending(event)) {
+                handleProcessedOrder(event, false);
+                return kafkaProducer.sendEvent(event.getOrderId(), event);
+            }
+            var products = reservationEngine.reserve(event);
+            Optional<ProcessedOrder> processedOrder;
+            try {
+                processedOrder = reserveInventory(event, products);
+            } catch (Exception ex) {
+                reservationEngine.cancel(event);
+                throw ex;
+            }
+            processedOrder.ifPresentOrElse(order -> {
+                reservationEngine.cancel(event);
+                handleProcessedOrder(event, order.compensated());
+            }, () -> handleSuccess(event));
         } catch (Exception ex) {
             log.error("Error trying to update inventory: ", ex);
             handleFailCurrentNotExecuted(event, ex.getMessage());
         }
-        kafkaProducer.sendEvent(jsonUtil.toJson(event));
+        return kafkaProducer.sendEvent(event.getOrderId(), event);
     }
 
-    private void checkCurrentValidation(Event event) {
-        if (orderInventoryRepository.existsByOrderIdAndTransactionId(event.getPayload().getId(), event.getPayload().getTransactionId())) {
-            throw new ValidationException("OrderId and transactionId is already in use!");
+    public CompletableFuture<Void> updateInventories(List<Event> events) {
+        var pendingReservations = reserveHotProducts(events);
+        try {
+            var reservation = retryingTransactionTemplate.execute(status -> reserveInventories(pendingReservations));
+            reservation.failures().forEach(failure -> {
+                reservationEngine.cancel(failure.event());
+                handleFailCurrentNotExecuted(failure.event(), failure.message());
+            });
+            reservation.processedOrders().forEach(processedOrder -> {
+                reservationEngine.cancel(processedOrder.event());
+                handleProcessedOrder(processedOrder.event(), processedOrder.compensated());
+            });
+            reservation.reservedEvents().forEach(this::handleSuccess);
+        } catch (Exception ex) {
+            log.error("Error trying to update inventories: ", ex);
+            pendingReservations.forEach(pendingReservation -> {
+                reservationEngine.cancel(pendingReservation.event());
+                handleFailCurrentNotExecuted(pendingReservation.event(), ex.getMessage());
+            });
         }
+        handleDuplicatedOrders(events);
+        var sends = events
+                .stream()
+                .map(event -> kafkaProducer.sendEvent(event.getOrderId(), event))
+                .toArray(CompletableFuture[]::new);
+        kafkaProducer.flush();
+        return CompletableFuture.allOf(sends);
+    }
+
+    private List<PendingReservation> reserveHotProducts(List<Event> events) {
+        var batchOrders = new HashSet<OrderTransaction>();
+        var pendingReservations = new ArrayList<PendingReservation>();
+        events.forEach(event -> {
+            try {
+                if (!batchOrders.add(toOrderTransaction(event))) {
+                    return;
+                }
+                if (isPending(event)) {
+                    handleProcessedOrder(event, false);
+                    return;
+                }
+                pendingReservations.add(new PendingReservation(event, reservationEngine.reserve(event)));
+            } catch (Exception ex) {
+                log.error("Error trying to update inventory: ", ex);
+                handleFailCurrentNotExecuted(event, ex.getMessage());
+            }
+        });
+        return pendingReservations;
     }
 
-    private void createOrderInventory(Event event) {
-        event
-            .getPayload()
-            .getProducts()
-            .forEach(product -> {
-                var inventory = findInventoryByProductCode(product.getProduct().getCode());
-                var orderInventory = createOrderInventory(event, product, inventory);
-                orderInventoryRepository.save(orderInventory);
+    private BatchReservation reserveInventories(List<PendingReservation> pendingReservations) {
+        var inventories = findInventoriesByProductCodes(pendingReservations);
+        var processedOrders = findProcessedOrders(pendingReservations);
+        var orderInventories = new ArrayList<OrderInventory>();
+        var reservedEvents = new ArrayList<Event>();
+        var processedEvents = new ArrayList<ProcessedEvent>();
+        var failures = new ArrayList<EventFailure>();
+        pendingReservations.forEach(pendingReservation -> {
+            var event = pendingReservation.event();
+            var processedOrder = processedOrders.get(toOrderTransaction(event));
+            if (processedOrder != null) {
+                processedEvents.add(new ProcessedEvent(event, processedOrder.compensated()));
+                return;
+            }
+            try {
+                orderInventories.addAll(reserveInventory(event, pendingReservation.products(), inventories));
+                reservedEvents.add(event);
+            } catch (Exception ex) {
+                log.error("Error trying to update inventory: ", ex);
+                failures.add(new EventFailure(event, ex.getMessage()));
+            }
         });
+        orderInventoryRepository.saveAll(orderInventories);
+        inventoryRepository.saveAll(inventories.values());
+        return new BatchReservation(reservedEvents, processedEvents, failures);
+    }
+
+    private Map<OrderTransaction, ProcessedOrder> findProcessedOrders(List<PendingReservation> pendingReservations) {
+        var transactionIds = pendingReservations
+                .stream()
+                .map(pendingReservation -> pendingReservation.event().getPayload().getTransactionId())
+                .collect(Collectors.toSet());
+        var createdAts = pendingReservations
+                .stream()
+                .map(pendingReservation -> pendingReservation.event().sagaCreatedAt())
+                .sorted()
+                .toList();
+        if (transactionIds.isEmpty()) {
+            return Map.of();
+        }
+        return orderInventoryRepository
+                .findProcessedOrders(transactionIds, createdAts.getFirst(), createdAts.getLast())
+                .stream()
+                .collect(Collectors.toMap(order -> new OrderTransaction(order.orderId(), order.transactionId()), Function.identity(), (first, second) -> first));
+    }
+
+    private Map<String, Inventory> findInventoriesByProductCodes(List<PendingReservation> pendingReservations) {
+        var productCodes = pendingReservations
+                .stream()
+                .flatMap(pendingReservation -> pendingReservation.products().stream())
+                .filter(product -> !ObjectUtils.isEmpty(product.getProduct()))
+                .map(product -> product.getProduct().getCode())
+                .collect(Collectors.toSet());
+        return inventoryRepository
+                .findByProductCodeInOrderById(productCodes)
+                .stream()
+                .collect(Collectors.toMap(Inventory::getProductCode, Function.identity()));
+    }
+
+    private void handleDuplicatedOrders(List<Event> events) {
+        var firstEvents = new HashMap<OrderTransaction, Event>();
+        events.forEach(event -> {
+            var firstEvent = firstEvents.putIfAbsent(toOrderTransaction(event), event);
+            if (firstEvent == null) {
+                return;
+            }
+            if (ESagaStatus.SUCCESS.equals(firstEvent.getStatus())) {
+                handleProcessedOrder(event, false);
+            } else {
+                handleFailCurrentNotExecuted(event, "OrderId and transactionId is already in use!");
+            }
+        });
+    }
+
+    private OrderTransaction toOrderTransaction(Event event) {
+        return new OrderTransaction(event.getPayload().getId(), event.getPayload().getTransactionId());
+    }
+
+    private List<OrderInventory> reserveInventory(Event event, List<OrderProducts> products, Map<String, Inventory> inventories) {
+        var orderInventories = new ArrayList<OrderInventory>();
+        try {
+            products.forEach(product -> {
+                var inventory = findInventory(inventories, product.getProduct().getCode());
+                checkInventory(inventory.getAvailable(), product.getQuantity());
+                orderInventories.add(createOrderInventory(event, product, inventory, inventory.getAvailable()));
+                inventory.setAvailable(inventory.getAvailable() - product.getQuantity());
+            });
+        } catch (Exception ex) {
+            orderInventories.forEach(orderInventory -> {
+                var inventory = orderInventory.getInventory();
+                inventory.setAvailable(inventory.getAvailable() + orderInventory.getOrderQuantity());
+            });
+            throw ex;
+        }
+        return orderInventories;
+    }
+
+    private Inventory findInventory(Map<String, Inventory> inventories, String productCode) {
+        return Optional
+                .ofNullable(inventories.get(productCode))
+                .orElseThrow(() -> new ValidationException("Stock not found for the product specified."));
     }
 
-    private OrderInventory createOrderInventory(Event event, OrderProducts product, Inventory inventory) {
+    private boolean isPending(Event event) {
+        return reservationEngine.isPending(event.getPayload().getId(), event.getPayload().getTransactionId());
+    }
+
+    private Optional<ProcessedOrder> findProcessedOrder(Event event) {
+        return orderInventoryRepository.findProcessedOrder(event.getPayload().getId(), event.getPayload().getTransactionId(), event.sagaCreatedAt());
+    }
+
+    private Optional<ProcessedOrder> reserveInventory(Event event, List<OrderProducts> products) {
+        return retryingTransactionTemplate.execute(status -> {
+            var inventories = findInventories(products);
+            var processedOrder = findProcessedOrder(event);
+            if (processedOrder.isPresent() || products.isEmpty()) {
+                return processedOrder;
+            }
+            var ids = products
+                    .stream()
+                    .map(product -> findInventory(inventories, product.getProduct().getCode()).getId())
+                    .toArray(Integer[]::new);
+            var quantities = products
+                    .stream()
+                    .map(OrderProducts::getQuantity)
+                    .toArray(Integer[]::new);
+            var reservedStock = inventoryRepository
+                    .decreaseAvailable(ids, quantities)
+                    .stream()
+                    .collect(Collectors.toMap(InventoryAvailability::getId, InventoryAvailability::getAvailable));
+            if (reservedStock.size() < inventories.size()) {
+                throw new ValidationException("Product is out of stock!");
+            }
+            orderInventoryRepository.saveAll(createOrderInventories(event, products, inventories, reservedStock));
+            return Optional.<ProcessedOrder>empty();
+        });
+    }
+
+    private Map<String, Inventory> findInventories(List<OrderProducts> products) {
+        var productCodes = products
+                .stream()
+                .map(product -> product.getProduct().getCode())
+                .collect(Collectors.toSet());
+        return inventoryRepository
+                .findByProductCodeInOrderById(productCodes)
+                .stream()
+                .collect(Collectors.toMap(Inventory::getProductCode, Function.identity()));
+    }
+
+    private List<OrderInventory> createOrderInventories(Event event,
+                                                        List<OrderProducts> products,
+                                                        Map<String, Inventory> inventories,
+                                                        Map<Integer, Integer> reservedStock) {
+        var stock = new HashMap<>(reservedStock);
+        products.forEach(product -> stock.merge(inventories.get(product.getProduct().getCode()).getId(), product.getQuantity(), Integer::sum));
+        var orderInventories = new ArrayList<OrderInventory>();
+        products.forEach(product -> {
+            var inventory = inventories.get(product.getProduct().getCode());
+            var oldQuantity = stock.get(inventory.getId());
+            orderInventories.add(createOrderInventory(event, product, inventory, oldQuantity));
+            stock.put(inventory.getId(), oldQuantity - product.getQuantity());
+        });
+        return orderInventories;
+    }
+
+    private OrderInventory createOrderInventory(Event event, OrderProducts product, Inventory inventory, int oldQuantity) {
         return OrderInventory
             .builder()
             .inventory(inventory)
-            .oldQuantity(inventory.getAvailable())
+            .oldQuantity(oldQuantity)
             .orderQuantity(product.getQuantity())
-            .newQuantity(inventory.getAvailable() - product.getQuantity())
+            .newQuantity(oldQuantity - product.getQuantity())
             .orderId(event.getPayload().getId())
             .transactionId(event.getTransactionId())
+            .createdAt(event.sagaCreatedAt())
             .build();
     }
 
-    private void updateInventory(Order order) {
-        order
-            .getProducts()
-            .forEach(product -> {
-                var inventory = findInventoryByProductCode(product.getProduct().getCode());
-                checkInventory(inventory.getAvailable(), product.getQuantity());
-                inventory.setAvailable(inventory.getAvailable() - product.getQuantity());
-                inventoryRepository.save(inventory);
-            });
-    }
-
     private void checkInventory(int available, int orderQuantity) {
         if (orderQuantity > available) {
             throw new ValidationException("Product is out of stock!");
@@ -106,13 +316,24 @@ public class InventoryService {
         event.addToHistory(history);
     }
 
+    private void handleProcessedOrder(Event event, boolean compensated) {
+        event.setSource(CURRENT_SOURCE);
+        if (compensated) {
+            event.setStatus(ESagaStatus.FAIL);
+            addHistory(event, "Rollback was already executed for inventory!");
+        } else {
+            event.setStatus(ESagaStatus.SUCCESS);
+            addHistory(event, "Inventory was already updated!");
+        }
+    }
+
     private void handleFailCurrentNotExecuted(Event event, String message) {
         event.setStatus(ESagaStatus.ROLLBACK_PENDING);
         event.setSource(CURRENT_SOURCE);
         addHistory(event, "Fail to update inventory: ".concat(message));
     }
 
-    public void rollbackInventory(Event event) {
+    public CompletableFuture<Void> rollbackInventory(Event event) {
         event.setStatus(ESagaStatus.FAIL);
         event.setSource(CURRENT_SOURCE);
         try {
@@ -121,23 +342,25 @@ public class InventoryService {
         } catch (Exception ex) {
             addHistory(event, "Rollback not executed for inventory: ".concat(ex.getMessage()));
         }
-        kafkaProducer.sendEvent(jsonUtil.toJson(event));
+        return kafkaProducer.sendEvent(event.getOrderId(), event);
     }
 
     private void returnInventoryToPreviousValues(Event event) {
-        orderInventoryRepository
-                .findByOrderIdAndTransactionId(event.getPayload().getId(), event.getTransactionId())
-                .forEach(orderInventory -> {
-                    var inventory = orderInventory.getInventory();
-                    inventory.setAvailable(orderInventory.getOldQuantity());
-                    inventoryRepository.save(inventory);
-                    log.info("Restored inventory for order {} from {} to {}", event.getPayload().getId(), orderInventory.getNewQuantity(), inventory.getAvailable());
-                });
+        reservationEngine.flush();
+        retryingTransactionTemplate
+                .execute(status -> inventoryRepository.returnOrderQuantities(event.getPayload().getId(), event.getTransactionId(), event.sagaCreatedAt()))
+                .forEach(compensation -> log.info("Returned {} units of {} to inventory for order {}", compensation.getQuantity(), compensation.getProductCode(), event.getPayload().getId()));
     }
 
-    private Inventory findInventoryByProductCode(String productCode) {
-        return inventoryRepository
-                .findByProductCode(productCode)
-                .orElseThrow(() -> new ValidationException("Stock not found for the product specified."));
+    private record EventFailure(Event event, String message) {
+    }
+
+    private record PendingReservation(Event event, List<OrderProducts> products) {
+    }
+
+    private record ProcessedEvent(Event event, boolean compensated) {
+    }
+
+    private record BatchReservation(List<Event> reservedEvents, List<ProcessedEvent> processedOrders, List<EventFailure> failures) {
     }
 }
@@ -0,0 +1,23 @@
+CREATE TABLE inventory (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    product_code VARCHAR(255) NOT NULL,
+    available INTEGER NOT NULL,
+    CONSTRAINT uk_inventory_product_code UNIQUE (product_code)
+);
+
+CREATE SEQUENCE order_inventory_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE order_inventory (
+    id INTEGER NOT NULL PRIMARY KEY,
+    inventory_id INTEGER NOT NULL REFERENCES inventory (id),
+    order_id VARCHAR(255) NOT NULL,
+    transaction_id VARCHAR(255) NOT NULL,
+    order_quantity INTEGER NOT NULL,
+    old_quantity INTEGER NOT NULL,
+    new_quantity INTEGER NOT NULL,
+    compensated BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_order_inventory_transaction_order ON order_inventory (transaction_id, order_id);
@@ -0,0 +1,6 @@
+INSERT INTO inventory (id, product_code, available) VALUES (1, 'COMIC_BOOKS', 4);
+INSERT INTO inventory (id, product_code, available) VALUES (2, 'BOOKS', 2);
+INSERT INTO inventory (id, product_code, available) VALUES (3, 'MOVIES', 5);
+INSERT INTO inventory (id, product_code, available) VALUES (4, 'MUSIC', 9);
+
+SELECT setval(pg_get_serial_sequence('inventory', 'id'), (SELECT MAX(id) FROM inventory));
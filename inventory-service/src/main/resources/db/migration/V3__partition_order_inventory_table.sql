@@ -0,0 +1,32 @@
+ALTER TABLE order_inventory RENAME TO order_inventory_unpartitioned;
+ALTER INDEX idx_order_inventory_transaction_order RENAME TO idx_order_inventory_unpartitioned_transaction_order;
+
+CREATE TABLE order_inventory (
+    id INTEGER NOT NULL,
+    inventory_id INTEGER NOT NULL REFERENCES inventory (id),
+    order_id VARCHAR(255) NOT NULL,
+    transaction_id VARCHAR(255) NOT NULL,
+    order_quantity INTEGER NOT NULL,
+    old_quantity INTEGER NOT NULL,
+    new_quantity INTEGER NOT NULL,
+    compensated BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_order_inventory PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX idx_order_inventory_transaction_order ON order_inventory (transaction_id, order_id);
+
+CREATE TABLE order_inventory_default PARTITION OF order_inventory DEFAULT;
+
+SELECT create_ledger_partition('order_inventory', month::DATE)
+FROM (SELECT DISTINCT date_trunc('month', created_at) AS month FROM order_inventory_unpartitioned) months;
+
+SELECT create_ledger_partition('order_inventory', (date_trunc('month', LOCALTIMESTAMP) + make_interval(months => ahead))::DATE)
+FROM generate_series(0, 2) ahead;
+
+INSERT INTO order_inventory (id, inventory_id, order_id, transaction_id, order_quantity, old_quantity, new_quantity, compensated, created_at, updated_at)
+SELECT id, inventory_id, order_id, transaction_id, order_quantity, old_quantity, new_quantity, compensated, created_at, updated_at
+FROM order_inventory_unpartitioned;
+
+DROP TABLE order_inventory_unpartitioned;
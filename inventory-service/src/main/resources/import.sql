@@ -1,4 +0,0 @@
-INSERT INTO public.inventory(id, product_code, available) VALUES (1, 'COMIC_BOOKS', 4);
-INSERT INTO public.inventory(id, product_code, available) VALUES (2, 'BOOKS', 2);
-INSERT INTO public.inventory(id, product_code, available) VALUES (3, 'MOVIES', 5);
-INSERT INTO public.inventory(id, product_code, available) VALUES (4, 'MUSIC', 9);
\ No newline at end of file
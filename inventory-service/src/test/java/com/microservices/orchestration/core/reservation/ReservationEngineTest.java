@@ -0,0 +1,163 @@
+package com.microservices.orchestration.core.reservation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.microservices.orchestration.commons.dto.Event;
+import com.microservices.orchestration.commons.dto.Order;
+import com.microservices.orchestration.commons.dto.OrderProducts;
+import com.microservices.orchestration.commons.dto.Product;
+import com.microservices.orchestration.core.model.Inventory;
+import com.microservices.orchestration.core.model.OrderInventory;
+import com.microservices.orchestration.core.repository.InventoryRepository;
+import com.microservices.orchestration.core.repository.OrderInventoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ReservationEngineTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder().findAndAddModules().build();
+    private static final int LEASE_SIZE = 10;
+    private static final int BOOKS_ID = 1;
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 10, 1, 12, 0);
+
+    @TempDir
+    Path directory;
+
+    private final InventoryRepository inventoryRepository = mock(InventoryRepository.class);
+    private final OrderInventoryRepository orderInventoryRepository = mock(OrderInventoryRepository.class);
+
+    @BeforeEach
+    void setUp() {
+        when(inventoryRepository.findByProductCodeIn(any())).thenReturn(List.of(new Inventory(BOOKS_ID, "BOOKS", 100)));
+        when(inventoryRepository.leaseAvailable(eq(BOOKS_ID), anyInt())).thenAnswer(invocation -> invocation.getArgument(1));
+    }
+
+    @Test
+    void restoresTheUnflushedReservationsAndKeepsTheLeasedUnitsAfterACrash() {
+        startEngine(Set.of("BOOKS")).reserve(buildEvent("order-1", 3));
+        clearInvocations(inventoryRepository, orderInventoryRepository);
+
+        var restarted = startEngine(Set.of("BOOKS"));
+        restarted.reserve(buildEvent("order-2", 7));
+
+        assertThat(savedOrderInventories())
+                .extracting(OrderInventory::getOrderId, OrderInventory::getOrderQuantity)
+                .containsExactly(tuple("order-1", 3));
+        verify(orderInventoryRepository).findProducts(Set.of("transaction-order-1"), CREATED_AT, CREATED_AT);
+        verify(inventoryRepository, never()).increaseAvailable(anyInt(), anyInt());
+        verify(inventoryRepository, never()).leaseAvailable(anyInt(), anyInt());
+    }
+
+    @Test
+    void doesNotRestoreACancelledReservation() {
+        var engine = startEngine(Set.of("BOOKS"));
+        var event = buildEvent("order-1", 3);
+        engine.reserve(event);
+        engine.cancel(event);
+        clearInvocations(inventoryRepository, orderInventoryRepository);
+
+        var restarted = startEngine(Set.of("BOOKS"));
+        restarted.reserve(buildEvent("order-2", 10));
+
+        verify(orderInventoryRepository, never()).saveAll(anyList());
+        verify(inventoryRepository, never()).leaseAvailable(anyInt(), anyInt());
+    }
+
+    @Test
+    void doesNotRestoreAFlushedReservation() {
+        var engine = startEngine(Set.of("BOOKS"));
+        engine.reserve(buildEvent("order-1", 3));
+        engine.flush();
+        clearInvocations(inventoryRepository, orderInventoryRepository);
+
+        startEngine(Set.of("BOOKS"));
+
+        verify(orderInventoryRepository, never()).saveAll(anyList());
+        verify(inventoryRepository, never()).increaseAvailable(anyInt(), anyInt());
+    }
+
+    @Test
+    void returnsTheLeaseOfAProductThatIsNoLongerHot() {
+        startEngine(Set.of("BOOKS")).reserve(buildEvent("order-1", 3));
+        clearInvocations(inventoryRepository, orderInventoryRepository);
+
+        startEngine(Set.of());
+        startEngine(Set.of());
+
+        verify(inventoryRepository, times(1)).increaseAvailable(BOOKS_ID, 7);
+    }
+
+    @Test
+    void keepsTheJournalWhenTheReservationsCannotBeRestored() {
+        startEngine(Set.of("BOOKS")).reserve(buildEvent("order-1", 3));
+        when(orderInventoryRepository.saveAll(anyList())).thenThrow(new DataAccessResourceFailureException("database is down"));
+
+        assertThatThrownBy(() -> startEngine(Set.of("BOOKS"))).isInstanceOf(DataAccessResourceFailureException.class);
+        reset(orderInventoryRepository);
+        clearInvocations(inventoryRepository);
+        var restarted = startEngine(Set.of("BOOKS"));
+        restarted.reserve(buildEvent("order-2", 7));
+
+        assertThat(savedOrderInventories()).extracting(OrderInventory::getOrderId).containsExactly("order-1");
+        verify(inventoryRepository, never()).leaseAvailable(anyInt(), anyInt());
+    }
+
+    @Test
+    void keepsTheLeaseWhenItCannotBeReturnedDuringRecovery() {
+        startEngine(Set.of("BOOKS")).reserve(buildEvent("order-1", 3));
+        when(inventoryRepository.increaseAvailable(BOOKS_ID, 7)).thenThrow(new DataAccessResourceFailureException("database is down"));
+
+        assertThatThrownBy(() -> startEngine(Set.of())).isInstanceOf(DataAccessResourceFailureException.class);
+        reset(inventoryRepository);
+        when(inventoryRepository.findByProductCodeIn(any())).thenReturn(List.of(new Inventory(BOOKS_ID, "BOOKS", 100)));
+        startEngine(Set.of());
+
+        verify(inventoryRepository, times(1)).increaseAvailable(BOOKS_ID, 7);
+    }
+
+    private ReservationEngine startEngine(Set<String> hotProductCodes) {
+        var journal = new ReservationJournal(OBJECT_MAPPER, directory.toString(), false);
+        var engine = new ReservationEngine(inventoryRepository, orderInventoryRepository, journal, hotProductCodes, LEASE_SIZE);
+        engine.recover();
+        return engine;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OrderInventory> savedOrderInventories() {
+        var captor = ArgumentCaptor.forClass(List.class);
+        verify(orderInventoryRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    private static Event buildEvent(String orderId, int quantity) {
+        var order = Order
+                .builder()
+                .id(orderId)
+                .transactionId("transaction-" + orderId)
+                .createdAt(CREATED_AT)
+                .products(List.of(new OrderProducts(new Product("BOOKS", 1_250), quantity)))
+                .build();
+        return Event
+                .builder()
+                .orderId(orderId)
+                .transactionId("transaction-" + orderId)
+                .payload(order)
+                .build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.microservices.orchestration.core.reservation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.microservices.orchestration.core.enums.EJournalEntryType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReservationJournalTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder().findAndAddModules().build();
+
+    @TempDir
+    Path directory;
+
+    private ReservationJournal journal;
+
+    @BeforeEach
+    void openJournal() {
+        journal = reopen();
+        journal.reset(Map.of());
+    }
+
+    @AfterEach
+    void closeJournal() {
+        journal.close();
+    }
+
+    @Test
+    void replaysLeasesReleasesReservationsAndCancellations() {
+        journal.append(lease(EJournalEntryType.LEASE, "BOOKS", 10));
+        journal.append(reservation("order-1", "BOOKS", 3));
+        var cancelled = reservation("order-2", "BOOKS", 2);
+        journal.append(cancelled);
+        journal.cancel(cancelled);
+        journal.append(lease(EJournalEntryType.RELEASE, "BOOKS", 1));
+
+        var replay = reopen().replay();
+
+        assertThat(replay.leases()).containsExactly(Map.entry("BOOKS", 6));
+        assertThat(replay.reservations()).extracting(ReservationJournalEntry::getOrderId).containsExactly("order-1");
+    }
+
+    @Test
+    void carriesTheLeasesOfARotatedSegmentIntoTheNextCheckpoint() {
+        journal.append(lease(EJournalEntryType.LEASE, "BOOKS", 10));
+        journal.append(reservation("order-1", "BOOKS", 3));
+
+        var closed = journal.rotate();
+        journal.deleteThrough(closed.orElseThrow().segment());
+        var replay = reopen().replay();
+
+        assertThat(closed.get().reservations()).extracting(ReservationJournalEntry::getOrderId).containsExactly("order-1");
+        assertThat(replay.leases()).containsExactly(Map.entry("BOOKS", 7));
+        assertThat(replay.reservations()).isEmpty();
+    }
+
+    @Test
+    void keepsTheLeasesInTheCheckpointWrittenByAReset() throws IOException {
+        journal.append(lease(EJournalEntryType.LEASE, "BOOKS", 10));
+        journal.append(reservation("order-1", "BOOKS", 3));
+        var recovered = reopen();
+        var replay = recovered.replay();
+
+        recovered.reset(replay.leases());
+        recovered.close();
+
+        assertThat(listSegments()).hasSize(1);
+        var afterReset = reopen().replay();
+        assertThat(afterReset.leases()).containsExactly(Map.entry("BOOKS", 7));
+        assertThat(afterReset.reservations()).isEmpty();
+    }
+
+    @Test
+    void skipsAnEntryCutOffByACrash() throws IOException {
+        journal.append(lease(EJournalEntryType.LEASE, "BOOKS", 10));
+        journal.append(reservation("order-1", "BOOKS", 3));
+        Files.writeString(listSegments().getLast(), "{\"type\":\"RESERVE\",\"orderId\":\"ord", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        var replay = reopen().replay();
+
+        assertThat(replay.leases()).containsExactly(Map.entry("BOOKS", 7));
+        assertThat(replay.reservations()).hasSize(1);
+    }
+
+    private ReservationJournal reopen() {
+        return new ReservationJournal(OBJECT_MAPPER, directory.toString(), false);
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static ReservationJournalEntry lease(EJournalEntryType type, String productCode, int quantity) {
+        return ReservationJournalEntry
+                .builder()
+                .type(type)
+                .productCode(productCode)
+                .quantity(quantity)
+                .build();
+    }
+
+    private static ReservationJournalEntry reservation(String orderId, String productCode, int quantity) {
+        return ReservationJournalEntry
+                .builder()
+                .type(EJournalEntryType.RESERVE)
+                .orderId(orderId)
+                .transactionId("transaction-" + orderId)
+                .products(List.of(new ReservedProduct(productCode, quantity, 10)))
+                .createdAt(LocalDateTime.of(2026, 10, 1, 12, 0))
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.microservices.orchestration.core.reservation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedStockTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS = 20_000;
+
+    @Test
+    void spreadsTheUnitsGivenOverTheStripes() {
+        var stock = new StripedStock(4);
+
+        stock.give(10);
+
+        assertThat(stock.available()).isEqualTo(10);
+        assertThat(stock.drain()).isEqualTo(10);
+        assertThat(stock.available()).isZero();
+    }
+
+    @Test
+    void rejectsATakeLargerThanTheStock() {
+        var stock = new StripedStock(1);
+        stock.give(3);
+
+        assertThat(stock.tryTake(4)).isFalse();
+        assertThat(stock.tryTake(3)).isTrue();
+        assertThat(stock.tryTake(1)).isFalse();
+        assertThat(stock.available()).isZero();
+    }
+
+    @Test
+    void concurrentTakesAndGivesNeverGoNegativeAndKeepEveryUnit() throws Exception {
+        var initialStock = 1_000;
+        var stock = new StripedStock(4);
+        stock.give(initialStock);
+        var taken = new AtomicInteger();
+        var negativeSeen = new AtomicBoolean();
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(THREADS);
+        var tasks = new ArrayList<Future<?>>();
+        try {
+            for (var thread = 0; thread < THREADS; thread++) {
+                var quantity = thread % 3 + 1;
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    for (var i = 0; i < OPERATIONS; i++) {
+                        if (stock.tryTake(quantity)) {
+                            taken.addAndGet(quantity);
+                            if (i % 2 == 0) {
+                                stock.give(quantity);
+                                taken.addAndGet(-quantity);
+                            }
+                        }
+                        if (stock.available() < 0) {
+                            negativeSeen.set(true);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (var task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(negativeSeen).isFalse();
+        assertThat(taken.get()).isLessThanOrEqualTo(initialStock);
+        assertThat(stock.available() + taken.get()).isEqualTo(initialStock);
+    }
+}
@@ -0,0 +1,130 @@
+package com.microservices.orchestration.core.service;
+
+import com.microservices.orchestration.commons.dto.Event;
+import com.microservices.orchestration.commons.dto.Order;
+import com.microservices.orchestration.commons.dto.OrderProducts;
+import com.microservices.orchestration.commons.dto.Product;
+import com.microservices.orchestration.commons.enums.EEventSource;
+import com.microservices.orchestration.commons.enums.ESagaStatus;
+import com.microservices.orchestration.core.model.Inventory;
+import com.microservices.orchestration.core.producer.KafkaProducer;
+import com.microservices.orchestration.core.repository.InventoryRepository;
+import com.microservices.orchestration.core.repository.OrderInventoryRepository;
+import com.microservices.orchestration.core.repository.ProcessedOrder;
+import com.microservices.orchestration.core.reservation.ReservationEngine;
+import com.microservices.orchestration.core.utils.RetryingTransactionTemplate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class InventoryServiceTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 10, 1, 12, 0);
+
+    private final KafkaProducer kafkaProducer = mock(KafkaProducer.class);
+    private final InventoryRepository inventoryRepository = mock(InventoryRepository.class);
+    private final OrderInventoryRepository orderInventoryRepository = mock(OrderInventoryRepository.class);
+    private final RetryingTransactionTemplate retryingTransactionTemplate = mock(RetryingTransactionTemplate.class);
+    private final ReservationEngine reservationEngine = mock(ReservationEngine.class);
+    private final InventoryService inventoryService = new InventoryService(kafkaProducer, inventoryRepository, orderInventoryRepository, retryingTransactionTemplate, reservationEngine);
+
+    @BeforeEach
+    void setUp() {
+        when(kafkaProducer.sendEvent(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(retryingTransactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(reservationEngine.reserve(any())).thenAnswer(invocation -> invocation.<Event>getArgument(0).getPayload().getProducts());
+        when(inventoryRepository.findByProductCodeInOrderById(any())).thenReturn(List.of(new Inventory(1, "BOOKS", 10)));
+    }
+
+    @Test
+    void repliesSuccessWhenARedeliveredOrderWasAlreadyReserved() {
+        when(orderInventoryRepository.findProcessedOrder(any(), any(), any())).thenReturn(Optional.of(new ProcessedOrder("order-1", "transaction-1", false)));
+        var redelivered = buildEvent();
+
+        inventoryService.updateInventory(redelivered);
+
+        assertThat(redelivered.getStatus()).isEqualTo(ESagaStatus.SUCCESS);
+        assertThat(redelivered.getSource()).isEqualTo(EEventSource.INVENTORY_SERVICE);
+        verify(inventoryRepository, never()).decreaseAvailable(any(), any());
+        verify(orderInventoryRepository, never()).saveAll(any());
+        verify(reservationEngine).cancel(redelivered);
+    }
+
+    @Test
+    void repliesFailWhenARedeliveredOrderWasAlreadyReturned() {
+        when(orderInventoryRepository.findProcessedOrder(any(), any(), any())).thenReturn(Optional.of(new ProcessedOrder("order-1", "transaction-1", true)));
+        var redelivered = buildEvent();
+
+        inventoryService.updateInventory(redelivered);
+
+        assertThat(redelivered.getStatus()).isEqualTo(ESagaStatus.FAIL);
+        verify(inventoryRepository, never()).decreaseAvailable(any(), any());
+    }
+
+    @Test
+    void repliesSuccessWithoutReservingAgainWhenTheHotReservationIsStillPending() {
+        when(reservationEngine.isPending("order-1", "transaction-1")).thenReturn(true);
+        var redelivered = buildEvent();
+
+        inventoryService.updateInventory(redelivered);
+
+        assertThat(redelivered.getStatus()).isEqualTo(ESagaStatus.SUCCESS);
+        verify(reservationEngine, never()).reserve(any());
+        verify(reservationEngine, never()).cancel(any());
+    }
+
+    @Test
+    void checksTheBatchForProcessedOrdersInsideTheTransaction() {
+        when(orderInventoryRepository.findProcessedOrders(any(), any(), any())).thenReturn(List.of(new ProcessedOrder("order-1", "transaction-1", false)));
+        var redelivered = buildEvent();
+
+        inventoryService.updateInventories(List.of(redelivered));
+
+        assertThat(redelivered.getStatus()).isEqualTo(ESagaStatus.SUCCESS);
+        var order = inOrder(retryingTransactionTemplate, orderInventoryRepository);
+        order.verify(retryingTransactionTemplate).execute(any());
+        order.verify(orderInventoryRepository).findProcessedOrders(any(), any(), any());
+        verify(reservationEngine).cancel(redelivered);
+    }
+
+    @Test
+    void reservesACopiedOrderOnceAndRepliesSuccessToEveryCopy() {
+        when(orderInventoryRepository.findProcessedOrders(any(), any(), any())).thenReturn(List.of());
+        var first = buildEvent();
+        var copy = buildEvent();
+
+        inventoryService.updateInventories(List.of(first, copy));
+
+        assertThat(List.of(first, copy)).extracting(Event::getStatus).containsOnly(ESagaStatus.SUCCESS);
+        verify(reservationEngine, times(1)).reserve(any());
+        verify(reservationEngine, never()).cancel(any());
+    }
+
+    private Event buildEvent() {
+        var order = Order
+                .builder()
+                .id("order-1")
+                .transactionId("transaction-1")
+                .createdAt(CREATED_AT)
+                .products(List.of(new OrderProducts(new Product("BOOKS", 1_250), 2)))
+                .build();
+        return Event
+                .builder()
+                .id("event-1")
+                .orderId("order-1")
+                .transactionId("transaction-1")
+                .payload(order)
+                .source(EEventSource.ORCHESTRATOR)
+                .status(ESagaStatus.SUCCESS)
+                .build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.microservices.orchestration.config.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.microservices.orchestration.commons.dto.Event;
+import com.microservices.orchestration.commons.dto.Order;
+import com.microservices.orchestration.commons.dto.OrderProducts;
+import com.microservices.orchestration.commons.dto.Product;
+import com.microservices.orchestration.commons.enums.EEventSource;
+import com.microservices.orchestration.commons.enums.ESagaStatus;
+import com.microservices.orchestration.commons.kafka.EventCodec;
+import com.microservices.orchestration.commons.kafka.EventCodecs;
+import com.microservices.orchestration.commons.kafka.EventSchemaRegistry;
+import org.apache.kafka.common.compress.Compression;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.record.MemoryRecords;
+import org.apache.kafka.common.record.TimestampType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ProducerProfileBenchmark {
+
+    private static final int EVENTS_COUNT = 4096;
+    private static final int BUFFER_SIZE = 1024 * 1024;
+    private static final String[] PRODUCT_CODES = { "COMIC_BOOKS", "BOOKS", "MOVIES", "MUSIC" };
+    private static final String TOPIC = "orchestrator";
+    private static final String CURRENT_SCHEMA = "event-v2";
+
+    @Param({ "json", "avro" })
+    public String format;
+
+    @Param({ "none", "lz4", "zstd" })
+    public String compressionType;
+
+    @Param({ "1", "64" })
+    public int recordsPerBatch;
+
+    private byte[][] keys;
+    private byte[][] values;
+    private Header[] headers;
+    private Compression compression;
+    private ByteBuffer buffer;
+    private int index;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class WireCounters {
+
+        public long events;
+        public long wireBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            events = 0;
+            wireBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        var objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        var eventCodecs = new EventCodecs<>(new StandardEnvironment(), objectMapper, new EventSchemaRegistry(null), CURRENT_SCHEMA, format, Event.class);
+        var codec = eventCodecs.forTopic(TOPIC);
+        headers = new Header[] { new RecordHeader(EventCodec.CONTENT_TYPE_HEADER, codec.contentType().getBytes(StandardCharsets.UTF_8)) };
+        keys = new byte[EVENTS_COUNT][];
+        values = new byte[EVENTS_COUNT][];
+        for (var i = 0; i < EVENTS_COUNT; i++) {
+            var event = buildEvent(i);
+            keys[i] = event.getOrderId().getBytes(StandardCharsets.UTF_8);
+            values[i] = codec.encode(event);
+        }
+        compression = Compression.of(compressionType).build();
+        buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    }
+
+    @Benchmark
+    public int encodeBatch(WireCounters counters) {
+        buffer.clear();
+        var builder = MemoryRecords.builder(buffer, compression, TimestampType.CREATE_TIME, 0L);
+        var timestamp = System.currentTimeMillis();
+        for (var i = 0; i < recordsPerBatch; i++) {
+            index = (index + 1) & (EVENTS_COUNT - 1);
+            builder.append(timestamp, keys[index], values[index], headers);
+        }
+        var size = builder.build().sizeInBytes();
+        counters.events += recordsPerBatch;
+        counters.wireBytes += size;
+        return size;
+    }
+
+    private Event buildEvent(int sequence) {
+        var products = new ArrayList<OrderProducts>();
+        for (var i = 0; i <= sequence % PRODUCT_CODES.length; i++) {
+            products.add(new OrderProducts(new Product(PRODUCT_CODES[i], 1_000L * (i + 1)), 1 + sequence % 3));
+        }
+        var orderId = UUID.randomUUID().toString().replace("-", "").substring(0, 24);
+        var transactionId = String.format("%d_%s", System.currentTimeMillis(), UUID.randomUUID());
+        return Event
+                .builder()
+                .id(UUID.randomUUID().toString())
+                .orderId(orderId)
+                .transactionId(transactionId)
+                .payload(Order
+                        .builder()
+                        .id(orderId)
+                        .transactionId(transactionId)
+                        .products(products)
+                        .createdAt(LocalDateTime.now())
+                        .totalAmountInCents(products.stream().mapToLong(product -> product.getProduct().getUnitValueInCents() * product.getQuantity()).sum())
+                        .totalItems(products.stream().mapToInt(OrderProducts::getQuantity).sum())
+                        .build())
+                .source(EEventSource.ORCHESTRATOR)
+                .status(ESagaStatus.SUCCESS)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
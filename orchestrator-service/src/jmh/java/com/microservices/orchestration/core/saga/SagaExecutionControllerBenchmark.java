@@ -0,0 +1,57 @@
+package com.microservices.orchestration.core.saga;
+
+import com.microservices.orchestration.commons.enums.EEventSource;
+import com.microservices.orchestration.commons.enums.ESagaStatus;
+import com.microservices.orchestration.core.enums.ETopics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static com.microservices.orchestration.core.saga.SagaHandler.*;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SagaExecutionControllerBenchmark {
+
+    private static final int TRANSITIONS_COUNT = 1024;
+
+    private EEventSource[] sources;
+    private ESagaStatus[] statuses;
+    private int index;
+
+    @Setup
+    public void setup() {
+        sources = new EEventSource[TRANSITIONS_COUNT];
+        statuses = new ESagaStatus[TRANSITIONS_COUNT];
+        for (var i = 0; i < TRANSITIONS_COUNT; i++) {
+            var row = SAGA_HANDLER[i % SAGA_HANDLER.length];
+            sources[i] = (EEventSource) row[EVENT_SOURCE_INDEX];
+            statuses[i] = (ESagaStatus) row[SAGA_STATUS_INDEX];
+        }
+    }
+
+    @Benchmark
+    public ETopics streamLookup() {
+        var i = nextIndex();
+        var source = sources[i];
+        var status = statuses[i];
+        return (ETopics) (Arrays.stream(SAGA_HANDLER)
+                .filter(row -> source.equals(row[EVENT_SOURCE_INDEX]) && status.equals(row[SAGA_STATUS_INDEX]))
+                .map(row -> row[TOPIC_INDEX])
+                .findFirst()
+                .orElseThrow());
+    }
+
+    @Benchmark
+    public ETopics compiledLookup() {
+        var i = nextIndex();
+        return SagaExecutionController.findTopic(sources[i], statuses[i]);
+    }
+
+    private int nextIndex() {
+        index = (index + 1) & (TRANSITIONS_COUNT - 1);
+        return index;
+    }
+}
@@ -1,57 +1,59 @@
 package com.microservices.orchestration.core.consumer;
 
+import com.microservices.orchestration.commons.dto.Event;
 import com.microservices.orchestration.core.service.OrchestratorService;
-import com.microservices.orchestration.core.utils.JsonUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+import static com.microservices.orchestration.commons.kafka.SendAcknowledgments.acknowledgeWhenSent;
+
 @Slf4j
 @Component
 @AllArgsConstructor
 public class SagaOrchestratorConsumer {
 
     private final OrchestratorService orchestratorService;
-    private final JsonUtil jsonUtil;
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.start-saga}"
+            topics = "${spring.kafka.topic.start-saga}",
+            concurrency = "${spring.kafka.partitions.start-saga:${spring.kafka.listener.concurrency}}"
     )
-    public void consumeStartSagaEvent(String payload) {
-        log.info("Received Start Saga Event: {}", payload);
-        var event = jsonUtil.toEvent(payload);
-        orchestratorService.startSaga(event);
+    public void consumeStartSagaEvent(Event event, Acknowledgment acknowledgment) {
+        log.info("Received Start Saga Event: {}", event);
+        acknowledgeWhenSent(orchestratorService.startSaga(event), acknowledgment);
     }
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.orchestrator}"
+            topics = "${spring.kafka.topic.orchestrator}",
+            concurrency = "${spring.kafka.partitions.orchestrator:${spring.kafka.listener.concurrency}}"
     )
-    public void consumeOrchestratorEvent(String payload) {
-        log.info("Received Orchestrator Event: {}", payload);
-        var event = jsonUtil.toEvent(payload);
-        orchestratorService.continueSaga(event);
+    public void consumeOrchestratorEvent(Event event, Acknowledgment acknowledgment) {
+        log.info("Received Orchestrator Event: {}", event);
+        acknowledgeWhenSent(orchestratorService.continueSaga(event), acknowledgment);
     }
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.finish-success}"
+            topics = "${spring.kafka.topic.finish-success}",
+            concurrency = "${spring.kafka.partitions.finish-success:${spring.kafka.listener.concurrency}}"
     )
-    public void consumeFinishSuccessEvent(String payload) {
-        log.info("Received Finish Success Event: {}", payload);
-        var event = jsonUtil.toEvent(payload);
-        orchestratorService.finishSagaSuccess(event);
+    public void consumeFinishSuccessEvent(Event event, Acknowledgment acknowledgment) {
+        log.info("Received Finish Success Event: {}", event);
+        acknowledgeWhenSent(orchestratorService.finishSagaSuccess(event), acknowledgment);
     }
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.finish-fail}"
+            topics = "${spring.kafka.topic.finish-fail}",
+            concurrency = "${spring.kafka.partitions.finish-fail:${spring.kafka.listener.concurrency}}"
     )
-    public void consumeFinishFailEvent(String payload) {
-        log.info("Received Finish Fail Event: {}", payload);
-        var event = jsonUtil.toEvent(payload);
-        orchestratorService.finishSagaFail(event);
+    public void consumeFinishFailEvent(Event event, Acknowledgment acknowledgment) {
+        log.info("Received Finish Fail Event: {}", event);
+        acknowledgeWhenSent(orchestratorService.finishSagaFail(event), acknowledgment);
     }
 }
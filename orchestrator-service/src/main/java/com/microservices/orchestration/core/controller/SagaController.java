@@ -0,0 +1,28 @@
+package com.microservices.orchestration.core.controller;
+
+import com.microservices.orchestration.core.dto.SagaFilters;
+import com.microservices.orchestration.core.dto.SagaInFlight;
+import com.microservices.orchestration.core.dto.SagaState;
+import com.microservices.orchestration.core.service.SagaService;
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/saga")
+public class SagaController {
+
+    private final SagaService sagaService;
+
+    @GetMapping
+    public SagaState findByFilters(SagaFilters filters) {
+        return sagaService.findByFilters(filters);
+    }
+
+    @GetMapping("in-flight")
+    public SagaInFlight findInFlight() {
+        return sagaService.findInFlight();
+    }
+}
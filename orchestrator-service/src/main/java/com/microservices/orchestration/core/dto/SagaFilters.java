@@ -7,8 +7,8 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Product {
+public class SagaFilters {
 
-    private String code;
-    private double unitValue;
+    private String orderId;
+    private String transactionId;
 }
@@ -1,14 +1,17 @@
 package com.microservices.orchestration.core.dto;
 
+import com.microservices.orchestration.core.enums.ETopics;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Product {
+public class SagaInFlight {
 
-    private String code;
-    private double unitValue;
+    private long total;
+    private Map<ETopics, Long> byTopic;
 }
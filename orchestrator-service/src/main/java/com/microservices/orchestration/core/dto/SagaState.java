@@ -0,0 +1,24 @@
+package com.microservices.orchestration.core.dto;
+
+import com.microservices.orchestration.commons.dto.Event;
+import com.microservices.orchestration.core.enums.ETopics;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SagaState {
+
+    private String orderId;
+    private String transactionId;
+    private ETopics currentTopic;
+    private boolean finished;
+    private Event event;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,7 @@
+package com.microservices.orchestration.core.dto;
+
+import com.microservices.orchestration.commons.dto.Event;
+import com.microservices.orchestration.core.enums.ETopics;
+
+public record SagaTransition(Event event, ETopics previousTopic, ETopics topic) {
+}
@@ -1,23 +1,22 @@
 package com.microservices.orchestration.core.producer;
 
+import com.microservices.orchestration.commons.dto.Event;
+import com.microservices.orchestration.commons.kafka.BoundedKafkaSender;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @Component
 @AllArgsConstructor
 public class SagaOrchestratorProducer {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final BoundedKafkaSender<String, Event> kafkaSender;
 
-    public void sendEvent(String payload, String topic) {
-        try {
-            log.info("Sending event to topic {} with data {}", topic, payload);
-            kafkaTemplate.send(topic, payload);
-        } catch (Exception ex) {
-            log.error("Error trying to send data to topic {} with data {}", topic, payload, ex);
-        }
+    public CompletableFuture<Void> sendEvent(String orderId, Event event, String topic) {
+        log.info("Sending event to topic {} with key {} and data {}", topic, orderId, event);
+        return kafkaSender.send(topic, orderId, event);
     }
 }
@@ -0,0 +1,6 @@
+package com.microservices.orchestration.core.saga;
+
+import com.microservices.orchestration.core.enums.ETopics;
+
+public record SagaDeadline(String orderId, ETopics topic, long expirationMs) {
+}
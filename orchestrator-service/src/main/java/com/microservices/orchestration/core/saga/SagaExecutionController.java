@@ -1,15 +1,15 @@
 package com.microservices.orchestration.core.saga;
 
+import com.microservices.orchestration.commons.dto.Event;
+import com.microservices.orchestration.commons.enums.EEventSource;
+import com.microservices.orchestration.commons.enums.ESagaStatus;
 import com.microservices.orchestration.config.exception.ValidationException;
-import com.microservices.orchestration.core.dto.Event;
 import com.microservices.orchestration.core.enums.ETopics;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ObjectUtils;
 
-import java.util.Arrays;
-
 import static com.microservices.orchestration.core.saga.SagaHandler.*;
 import static java.lang.String.format;
 
@@ -19,6 +19,18 @@ import static java.lang.String.format;
 public class SagaExecutionController {
 
     private static final String SAGA_LOG_ID = "ORDER ID: %s | TRANSACTION ID %s | EVENT ID %s";
+    private static final int SAGA_STATUS_COUNT = ESagaStatus.values().length;
+    private static final ETopics[] SAGA_TRANSITIONS = compileSagaHandler();
+    private static final EEventSource[] STEP_SOURCES = new EEventSource[ETopics.values().length];
+    private static final ESagaStatus[] STEP_TIMEOUT_STATUSES = new ESagaStatus[ETopics.values().length];
+
+    static {
+        for (var row : SAGA_STEP_HANDLER) {
+            var topic = (ETopics) row[STEP_TOPIC_INDEX];
+            STEP_SOURCES[topic.ordinal()] = (EEventSource) row[STEP_SOURCE_INDEX];
+            STEP_TIMEOUT_STATUSES[topic.ordinal()] = (ESagaStatus) row[STEP_TIMEOUT_STATUS_INDEX];
+        }
+    }
 
     public ETopics getNextTopic(Event event) {
         if (ObjectUtils.isEmpty(event.getSource()) || ObjectUtils.isEmpty(event.getStatus())) {
@@ -29,18 +41,58 @@ public class SagaExecutionController {
         return topic;
     }
 
+    public boolean isServiceStep(ETopics topic) {
+        return !ObjectUtils.isEmpty(topic) && !ObjectUtils.isEmpty(STEP_SOURCES[topic.ordinal()]);
+    }
+
+    public boolean isExpectedReply(ETopics awaitedTopic, Event reply) {
+        if (!isServiceStep(awaitedTopic)) {
+            return true;
+        }
+        var compensating = ESagaStatus.FAIL.equals(STEP_TIMEOUT_STATUSES[awaitedTopic.ordinal()]);
+        return STEP_SOURCES[awaitedTopic.ordinal()].equals(reply.getSource())
+                && compensating == ESagaStatus.FAIL.equals(reply.getStatus());
+    }
+
+    public void applyStepTimeout(Event saga, ETopics awaitedTopic) {
+        if (!isServiceStep(awaitedTopic)) {
+            throw new ValidationException(format("Topic %s is not a saga service step.", awaitedTopic));
+        }
+        saga.setSource(STEP_SOURCES[awaitedTopic.ordinal()]);
+        saga.setStatus(STEP_TIMEOUT_STATUSES[awaitedTopic.ordinal()]);
+    }
+
     private ETopics findTopicBySourceAndStatus(Event event) {
-        return (ETopics) (Arrays.stream(SAGA_HANDLER)
-                .filter(row -> isEventSourceAndStatusValid(event, row))
-                .map(i -> i[TOPIC_INDEX])
-                .findFirst()
-                .orElseThrow(() -> new ValidationException("Topic not found!")));
+        return findTopic(event.getSource(), event.getStatus());
+    }
+
+    static ETopics findTopic(EEventSource source, ESagaStatus status) {
+        return SAGA_TRANSITIONS[transitionIndex(source, status)];
     }
 
-    private boolean isEventSourceAndStatusValid(Event event, Object[] row) {
-        var source = row[EVENT_SOURCE_INDEX];
-        var status = row[SAGA_STATUS_INDEX];
-        return event.getSource().equals(source) && event.getStatus().equals(status);
+    private static int transitionIndex(EEventSource source, ESagaStatus status) {
+        return source.ordinal() * SAGA_STATUS_COUNT + status.ordinal();
+    }
+
+    private static ETopics[] compileSagaHandler() {
+        var transitions = new ETopics[EEventSource.values().length * SAGA_STATUS_COUNT];
+        for (var row : SAGA_HANDLER) {
+            var source = (EEventSource) row[EVENT_SOURCE_INDEX];
+            var status = (ESagaStatus) row[SAGA_STATUS_INDEX];
+            var index = transitionIndex(source, status);
+            if (!ObjectUtils.isEmpty(transitions[index])) {
+                throw new IllegalStateException(format("Duplicated saga transition for source %s and status %s.", source, status));
+            }
+            transitions[index] = (ETopics) row[TOPIC_INDEX];
+        }
+        for (var source : EEventSource.values()) {
+            for (var status : ESagaStatus.values()) {
+                if (ObjectUtils.isEmpty(transitions[transitionIndex(source, status)])) {
+                    throw new IllegalStateException(format("Missing saga transition for source %s and status %s.", source, status));
+                }
+            }
+        }
+        return transitions;
     }
 
     private void logCurrentSaga(Event event, ETopics topic) {
@@ -1,7 +1,7 @@
 package com.microservices.orchestration.core.saga;
 
-import static com.microservices.orchestration.core.enums.EEventSource.*;
-import static com.microservices.orchestration.core.enums.ESagaStatus.*;
+import static com.microservices.orchestration.commons.enums.EEventSource.*;
+import static com.microservices.orchestration.commons.enums.ESagaStatus.*;
 import static com.microservices.orchestration.core.enums.ETopics.*;
 
 public final class SagaHandler {
@@ -12,6 +12,7 @@ public final class SagaHandler {
 
     public static final Object[][] SAGA_HANDLER = {
             { ORCHESTRATOR, SUCCESS, PRODUCT_VALIDATION_SUCCESS },
+            { ORCHESTRATOR, ROLLBACK_PENDING, FINISH_FAIL },
             { ORCHESTRATOR, FAIL, FINISH_FAIL },
 
             { PRODUCT_VALIDATION_SERVICE, ROLLBACK_PENDING, PRODUCT_VALIDATION_FAIL },
@@ -27,7 +28,22 @@ public final class SagaHandler {
             { INVENTORY_SERVICE, SUCCESS, FINISH_SUCCESS },
     };
 
+    public static final Object[][] SAGA_STEP_HANDLER = {
+            { PRODUCT_VALIDATION_SUCCESS, PRODUCT_VALIDATION_SERVICE, ROLLBACK_PENDING },
+            { PRODUCT_VALIDATION_FAIL, PRODUCT_VALIDATION_SERVICE, FAIL },
+
+            { PAYMENT_SUCCESS, PAYMENT_SERVICE, ROLLBACK_PENDING },
+            { PAYMENT_FAIL, PAYMENT_SERVICE, FAIL },
+
+            { INVENTORY_SUCCESS, INVENTORY_SERVICE, ROLLBACK_PENDING },
+            { INVENTORY_FAIL, INVENTORY_SERVICE, FAIL },
+    };
+
     public static final int EVENT_SOURCE_INDEX = 0;
     public static final int SAGA_STATUS_INDEX = 1;
     public static final int TOPIC_INDEX = 2;
+
+    public static final int STEP_TOPIC_INDEX = 0;
+    public static final int STEP_SOURCE_INDEX = 1;
+    public static final int STEP_TIMEOUT_STATUS_INDEX = 2;
 }
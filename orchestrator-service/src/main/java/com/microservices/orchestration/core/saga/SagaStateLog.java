@@ -0,0 +1,179 @@
+package com.microservices.orchestration.core.saga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.orchestration.core.dto.SagaState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.file.StandardOpenOption.*;
+
+@Slf4j
+@Component
+public class SagaStateLog {
+
+    private static final String LOG_FILE = "saga-state.log";
+    private static final String COMPACTION_FILE = "saga-state.log.compacting";
+
+    private final ObjectMapper objectMapper;
+    private final Path logFile;
+    private final Path compactionFile;
+    private final long compactionThreshold;
+    private final boolean fsync;
+
+    private final Map<String, String> liveEntries = new LinkedHashMap<>();
+
+    private FileChannel channel;
+    private BufferedWriter writer;
+    private long appendedEntries;
+
+    public SagaStateLog(ObjectMapper objectMapper,
+                        @Value("${saga.state-store.directory}") String directory,
+                        @Value("${saga.state-store.compaction-threshold}") long compactionThreshold,
+                        @Value("${saga.state-store.fsync}") boolean fsync) {
+        this.objectMapper = objectMapper;
+        this.logFile = Path.of(directory, LOG_FILE);
+        this.compactionFile = Path.of(directory, COMPACTION_FILE);
+        this.compactionThreshold = compactionThreshold;
+        this.fsync = fsync;
+    }
+
+    public synchronized Map<String, SagaState> replay() {
+        var sagas = new LinkedHashMap<String, SagaState>();
+        liveEntries.clear();
+        try {
+            Files.createDirectories(logFile.getParent());
+            Files.deleteIfExists(compactionFile);
+            if (Files.exists(logFile)) {
+                try (var lines = Files.lines(logFile, StandardCharsets.UTF_8)) {
+                    lines.forEach(line -> replayEntry(sagas, line));
+                }
+            }
+            open();
+            appendedEntries = sagas.size();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Error trying to replay saga state log " + logFile, ex);
+        }
+        log.info("Saga state log replayed from {} with {} sagas in flight", logFile, sagas.size());
+        return sagas;
+    }
+
+    public synchronized void append(SagaState state) {
+        try {
+            var entry = objectMapper.writeValueAsString(state);
+            writer.write(entry);
+            writer.newLine();
+            writer.flush();
+            if (fsync) {
+                channel.force(false);
+            }
+            appendedEntries++;
+            if (state.isFinished()) {
+                liveEntries.remove(state.getOrderId());
+            } else {
+                liveEntries.put(state.getOrderId(), entry);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Error trying to append saga state for order " + state.getOrderId() + " to " + logFile, ex);
+        }
+        if (appendedEntries >= compactionThreshold && appendedEntries > 2L * liveEntries.size()) {
+            compact();
+        }
+    }
+
+    public synchronized void close() {
+        try {
+            if (writer != null) {
+                writer.close();
+            }
+        } catch (IOException ex) {
+            log.error("Error trying to close saga state log {}", logFile, ex);
+        }
+    }
+
+    private void replayEntry(Map<String, SagaState> sagas, String line) {
+        if (line.isBlank()) {
+            return;
+        }
+        try {
+            var state = objectMapper.readValue(line, SagaState.class);
+            if (state.isFinished()) {
+                sagas.remove(state.getOrderId());
+                liveEntries.remove(state.getOrderId());
+            } else {
+                sagas.put(state.getOrderId(), state);
+                liveEntries.put(state.getOrderId(), line);
+            }
+        } catch (Exception ex) {
+            log.warn("Skipping unreadable saga state log entry: {}", line);
+        }
+    }
+
+    private void compact() {
+        try {
+            writeCompactionFile();
+        } catch (IOException ex) {
+            log.error("Error trying to write compacted saga state log {}", compactionFile, ex);
+            deleteCompactionFile();
+            return;
+        }
+        try {
+            writer.close();
+            Files.move(compactionFile, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            appendedEntries = liveEntries.size();
+            log.info("Saga state log compacted to {} sagas in flight", liveEntries.size());
+        } catch (IOException ex) {
+            log.error("Error trying to replace saga state log {} with its compacted copy", logFile, ex);
+            deleteCompactionFile();
+        } finally {
+            reopen();
+        }
+    }
+
+    private void writeCompactionFile() throws IOException {
+        try (var compactionChannel = FileChannel.open(compactionFile, CREATE, TRUNCATE_EXISTING, WRITE);
+             var compactionWriter = new BufferedWriter(Channels.newWriter(compactionChannel, StandardCharsets.UTF_8))) {
+            for (var entry : liveEntries.values()) {
+                compactionWriter.write(entry);
+                compactionWriter.newLine();
+            }
+            compactionWriter.flush();
+            if (fsync) {
+                compactionChannel.force(false);
+            }
+        }
+    }
+
+    private void deleteCompactionFile() {
+        try {
+            Files.deleteIfExists(compactionFile);
+        } catch (IOException ex) {
+            log.error("Error trying to delete saga state log compaction file {}", compactionFile, ex);
+        }
+    }
+
+    private void reopen() {
+        try {
+            open();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Error trying to reopen saga state log " + logFile, ex);
+        }
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(logFile, CREATE, WRITE, APPEND);
+        writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,215 @@
+package com.microservices.orchestration.core.saga;
+
+import com.microservices.orchestration.commons.dto.Event;
+import com.microservices.orchestration.commons.dto.Order;
+import com.microservices.orchestration.commons.enums.EEventSource;
+import com.microservices.orchestration.commons.enums.ESagaStatus;
+import com.microservices.orchestration.core.dto.SagaState;
+import com.microservices.orchestration.core.dto.SagaTransition;
+import com.microservices.orchestration.core.enums.ETopics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ObjectUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class SagaStateStore {
+
+    private final Map<String, SagaState> sagasByOrderId = new ConcurrentHashMap<>();
+    private final Map<String, String> orderIdsByTransactionId = new ConcurrentHashMap<>();
+
+    private final SagaStateLog sagaStateLog;
+
+    @PostConstruct
+    public void rebuild() {
+        sagaStateLog.replay().values().forEach(this::index);
+    }
+
+    @PreDestroy
+    public void close() {
+        sagaStateLog.close();
+    }
+
+    public SagaTransition start(Event event, Function<Event, ETopics> transition) {
+        var state = buildState(event);
+        synchronized (state) {
+            index(state);
+            try {
+                return moveTo(state, transition.apply(event));
+            } catch (RuntimeException ex) {
+                unindex(state);
+                throw ex;
+            }
+        }
+    }
+
+    public Optional<SagaTransition> advance(Event delta, Predicate<ETopics> awaiting, Function<Event, ETopics> transition) {
+        var state = findOrCreate(delta);
+        synchronized (state) {
+            if (state.isFinished() || !awaiting.test(state.getCurrentTopic())) {
+                return Optional.empty();
+            }
+            var snapshot = SagaSnapshot.of(state);
+            try {
+                applyDelta(state.getEvent(), delta);
+                return Optional.of(moveTo(state, transition.apply(state.getEvent())));
+            } catch (RuntimeException ex) {
+                snapshot.restore(state);
+                throw ex;
+            }
+        }
+    }
+
+    public Optional<SagaTransition> transition(String orderId, Predicate<ETopics> awaiting, Function<Event, ETopics> transition) {
+        return findByOrderId(orderId).flatMap(state -> {
+            synchronized (state) {
+                if (state.isFinished() || !awaiting.test(state.getCurrentTopic())) {
+                    return Optional.empty();
+                }
+                var snapshot = SagaSnapshot.of(state);
+                try {
+                    return Optional.of(moveTo(state, transition.apply(state.getEvent())));
+                } catch (RuntimeException ex) {
+                    snapshot.restore(state);
+                    throw ex;
+                }
+            }
+        });
+    }
+
+    public Event finish(Event delta, Consumer<Event> completion) {
+        var state = findOrCreate(delta);
+        synchronized (state) {
+            var snapshot = SagaSnapshot.of(state);
+            try {
+                applyDelta(state.getEvent(), delta);
+                completion.accept(state.getEvent());
+                state.setFinished(true);
+                state.setUpdatedAt(LocalDateTime.now());
+                sagaStateLog.append(state);
+            } catch (RuntimeException ex) {
+                snapshot.restore(state);
+                throw ex;
+            }
+            unindex(state);
+            var saga = state.getEvent();
+            return saga
+                    .toBuilder()
+                    .eventHistory(ObjectUtils.isEmpty(saga.getEventHistory()) ? null : new ArrayList<>(saga.getEventHistory()))
+                    .build();
+        }
+    }
+
+    public Optional<SagaState> findByOrderId(String orderId) {
+        return Optional.ofNullable(sagasByOrderId.get(orderId));
+    }
+
+    public Optional<SagaState> findByTransactionId(String transactionId) {
+        return Optional
+                .ofNullable(orderIdsByTransactionId.get(transactionId))
+                .flatMap(this::findByOrderId);
+    }
+
+    public Collection<SagaState> findAllInFlight() {
+        return sagasByOrderId.values();
+    }
+
+    public Map<ETopics, Long> countInFlightByTopic() {
+        return sagasByOrderId
+                .values()
+                .stream()
+                .filter(state -> !ObjectUtils.isEmpty(state.getCurrentTopic()))
+                .collect(Collectors.groupingBy(SagaState::getCurrentTopic, Collectors.counting()));
+    }
+
+    public int countInFlight() {
+        return sagasByOrderId.size();
+    }
+
+    private SagaState findOrCreate(Event delta) {
+        var state = sagasByOrderId.computeIfAbsent(delta.getOrderId(), orderId -> buildState(delta.toBuilder().eventHistory(null).build()));
+        orderIdsByTransactionId.putIfAbsent(state.getTransactionId(), state.getOrderId());
+        return state;
+    }
+
+    private SagaState buildState(Event event) {
+        return SagaState
+                .builder()
+                .orderId(event.getOrderId())
+                .transactionId(event.getTransactionId())
+                .event(event)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private SagaTransition moveTo(SagaState state, ETopics topic) {
+        var previousTopic = state.getCurrentTopic();
+        state.setCurrentTopic(topic);
+        state.setUpdatedAt(LocalDateTime.now());
+        sagaStateLog.append(state);
+        return new SagaTransition(state.getEvent().withoutHistory(), previousTopic, topic);
+    }
+
+    private void index(SagaState state) {
+        sagasByOrderId.put(state.getOrderId(), state);
+        orderIdsByTransactionId.put(state.getTransactionId(), state.getOrderId());
+    }
+
+    private void unindex(SagaState state) {
+        if (sagasByOrderId.remove(state.getOrderId(), state)) {
+            orderIdsByTransactionId.remove(state.getTransactionId());
+        }
+    }
+
+    private void applyDelta(Event saga, Event delta) {
+        if (!ObjectUtils.isEmpty(delta.getPayload())) {
+            saga.setPayload(delta.getPayload());
+        }
+        saga.setSource(delta.getSource());
+        saga.setStatus(delta.getStatus());
+        if (!ObjectUtils.isEmpty(delta.getEventHistory())) {
+            delta.getEventHistory().forEach(saga::addToHistory);
+        }
+    }
+
+    private record SagaSnapshot(Order payload,
+                                EEventSource source,
+                                ESagaStatus status,
+                                int historySize,
+                                ETopics currentTopic,
+                                boolean finished,
+                                LocalDateTime updatedAt) {
+
+        static SagaSnapshot of(SagaState state) {
+            var saga = state.getEvent();
+            var historySize = ObjectUtils.isEmpty(saga.getEventHistory()) ? 0 : saga.getEventHistory().size();
+            return new SagaSnapshot(saga.getPayload(), saga.getSource(), saga.getStatus(), historySize, state.getCurrentTopic(), state.isFinished(), state.getUpdatedAt());
+        }
+
+        void restore(SagaState state) {
+            var saga = state.getEvent();
+            saga.setPayload(payload);
+            saga.setSource(source);
+            saga.setStatus(status);
+            if (!ObjectUtils.isEmpty(saga.getEventHistory()) && saga.getEventHistory().size() > historySize) {
+                saga.getEventHistory().subList(historySize, saga.getEventHistory().size()).clear();
+            }
+            state.setCurrentTopic(currentTopic);
+            state.setFinished(finished);
+            state.setUpdatedAt(updatedAt);
+        }
+    }
+}
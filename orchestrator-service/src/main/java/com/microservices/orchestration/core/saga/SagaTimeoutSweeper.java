@@ -0,0 +1,27 @@
+package com.microservices.orchestration.core.saga;
+
+import com.microservices.orchestration.core.service.OrchestratorService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+public class SagaTimeoutSweeper {
+
+    private final SagaTimeoutTracker sagaTimeoutTracker;
+    private final OrchestratorService orchestratorService;
+
+    @Scheduled(fixedDelayString = "${saga.timeout.tick}")
+    public void sweep() {
+        for (var deadline : sagaTimeoutTracker.expire(System.currentTimeMillis())) {
+            try {
+                orchestratorService.timeoutSaga(deadline);
+            } catch (Exception ex) {
+                log.error("Error trying to time out saga for order {}: ", deadline.orderId(), ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.microservices.orchestration.core.saga;
+
+import com.microservices.orchestration.commons.dto.Event;
+import com.microservices.orchestration.core.dto.SagaState;
+import com.microservices.orchestration.core.enums.ETopics;
+import com.microservices.orchestration.core.utils.HierarchicalTimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+@Slf4j
+@Component
+public class SagaTimeoutTracker {
+
+    private static final String STEP_TIMEOUT_PROPERTY = "saga.timeout.steps.%s";
+
+    private final Map<String, SagaDeadline> deadlinesByOrderId = new ConcurrentHashMap<>();
+    private final Queue<SagaDeadline> overdueDeadlines = new ConcurrentLinkedQueue<>();
+    private final Map<ETopics, Duration> timeoutsByTopic = new EnumMap<>(ETopics.class);
+    private final Map<ETopics, Counter> timeoutCounters = new EnumMap<>(ETopics.class);
+
+    private final SagaExecutionController sagaExecutionController;
+    private final SagaStateStore sagaStateStore;
+    private final MeterRegistry meterRegistry;
+    private final HierarchicalTimingWheel<SagaDeadline> timingWheel;
+    private final boolean enabled;
+
+    public SagaTimeoutTracker(SagaExecutionController sagaExecutionController,
+                              SagaStateStore sagaStateStore,
+                              MeterRegistry meterRegistry,
+                              Environment environment,
+                              @Value("${saga.timeout.enabled}") boolean enabled,
+                              @Value("${saga.timeout.default}") Duration defaultTimeout,
+                              @Value("${saga.timeout.tick}") Duration tick,
+                              @Value("${saga.timeout.wheel-size}") int wheelSize) {
+        this.sagaExecutionController = sagaExecutionController;
+        this.sagaStateStore = sagaStateStore;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.timingWheel = new HierarchicalTimingWheel<>(tick.toMillis(), wheelSize, System.currentTimeMillis());
+        for (var topic : ETopics.values()) {
+            if (sagaExecutionController.isServiceStep(topic)) {
+                var property = String.format(STEP_TIMEOUT_PROPERTY, topic.getTopic());
+                timeoutsByTopic.put(topic, environment.getProperty(property, Duration.class, defaultTimeout));
+                timeoutCounters.put(topic, Counter
+                        .builder("saga.step.timeouts")
+                        .description("Saga steps that expired before the service replied")
+                        .tag("topic", topic.getTopic())
+                        .register(meterRegistry));
+            }
+        }
+        Gauge
+                .builder("saga.step.deadlines", deadlinesByOrderId, Map::size)
+                .description("Saga steps currently waiting on a service reply")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        sagaStateStore
+                .findAllInFlight()
+                .forEach(this::trackRecovered);
+    }
+
+    public void track(Event saga, ETopics topic) {
+        if (!enabled || !sagaExecutionController.isServiceStep(topic)) {
+            deadlinesByOrderId.remove(saga.getOrderId());
+            return;
+        }
+        schedule(saga.getOrderId(), topic, System.currentTimeMillis() + timeoutsByTopic.get(topic).toMillis());
+    }
+
+    public void cancel(String orderId) {
+        deadlinesByOrderId.remove(orderId);
+    }
+
+    public List<SagaDeadline> expire(long nowMs) {
+        var expired = new ArrayList<>(timingWheel.advance(nowMs));
+        for (var deadline = overdueDeadlines.poll(); deadline != null; deadline = overdueDeadlines.poll()) {
+            expired.add(deadline);
+        }
+        return expired
+                .stream()
+                .filter(deadline -> deadlinesByOrderId.remove(deadline.orderId(), deadline))
+                .peek(deadline -> timeoutCounters.get(deadline.topic()).increment())
+                .toList();
+    }
+
+    public void registerLateReply(Event reply) {
+        meterRegistry
+                .counter("saga.step.late.replies", "source", reply.getSource().name())
+                .increment();
+    }
+
+    private void trackRecovered(SagaState state) {
+        var topic = state.getCurrentTopic();
+        if (!enabled || !sagaExecutionController.isServiceStep(topic)) {
+            return;
+        }
+        var updatedAtMs = state.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        schedule(state.getOrderId(), topic, updatedAtMs + timeoutsByTopic.get(topic).toMillis());
+    }
+
+    private void schedule(String orderId, ETopics topic, long expirationMs) {
+        var deadline = new SagaDeadline(orderId, topic, expirationMs);
+        deadlinesByOrderId.put(orderId, deadline);
+        if (!timingWheel.add(deadline, expirationMs)) {
+            overdueDeadlines.add(deadline);
+        }
+    }
+}
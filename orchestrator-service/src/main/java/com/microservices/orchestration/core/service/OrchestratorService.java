@@ -1,18 +1,23 @@
 package com.microservices.orchestration.core.service;
 
-import com.microservices.orchestration.core.dto.Event;
-import com.microservices.orchestration.core.dto.History;
-import com.microservices.orchestration.core.enums.EEventSource;
-import com.microservices.orchestration.core.enums.ESagaStatus;
+import com.microservices.orchestration.commons.dto.Event;
+import com.microservices.orchestration.commons.dto.History;
+import com.microservices.orchestration.commons.enums.EEventSource;
+import com.microservices.orchestration.commons.enums.ESagaStatus;
+import com.microservices.orchestration.core.dto.SagaTransition;
 import com.microservices.orchestration.core.enums.ETopics;
 import com.microservices.orchestration.core.producer.SagaOrchestratorProducer;
+import com.microservices.orchestration.core.saga.SagaDeadline;
 import com.microservices.orchestration.core.saga.SagaExecutionController;
-import com.microservices.orchestration.core.utils.JsonUtil;
+import com.microservices.orchestration.core.saga.SagaStateStore;
+import com.microservices.orchestration.core.saga.SagaTimeoutTracker;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static com.microservices.orchestration.core.enums.ETopics.NOTIFY_ENDING;
 
@@ -21,39 +26,87 @@ import static com.microservices.orchestration.core.enums.ETopics.NOTIFY_ENDING;
 @AllArgsConstructor
 public class OrchestratorService {
 
-    private final JsonUtil jsonUtil;
     private final SagaOrchestratorProducer producer;
     private final SagaExecutionController sagaExecutionController;
+    private final SagaStateStore sagaStateStore;
+    private final SagaTimeoutTracker sagaTimeoutTracker;
 
-    public void startSaga(Event event) {
-        event.setSource(EEventSource.ORCHESTRATOR);
-        event.setStatus(ESagaStatus.SUCCESS);
-        var topic = getTopic(event);
+    public CompletableFuture<Void> startSaga(Event event) {
+        var transition = sagaStateStore.start(event, saga -> {
+            saga.setSource(EEventSource.ORCHESTRATOR);
+            saga.setStatus(ESagaStatus.SUCCESS);
+            addHistory(saga, "Saga started!");
+            return track(saga, getTopic(saga));
+        });
         log.info("SAGA STARTED!");
-        addHistory(event, "Saga started!");
-        sendToProducerWithTopic(event, topic);
+        return sendTransition(transition);
     }
 
-    public void finishSagaSuccess(Event event) {
-        event.setSource(EEventSource.ORCHESTRATOR);
-        event.setStatus(ESagaStatus.SUCCESS);
-        log.info("SAGA FINISHED SUCCESSFULLY FOR EVENT: {}", event.getId());
-        addHistory(event, "Saga finished successfully!");
-        notifyFinishedSaga(event);
+    public CompletableFuture<Void> finishSagaSuccess(Event event) {
+        var saga = sagaStateStore.finish(event, finished -> {
+            finished.setSource(EEventSource.ORCHESTRATOR);
+            finished.setStatus(ESagaStatus.SUCCESS);
+            addHistory(finished, "Saga finished successfully!");
+        });
+        log.info("SAGA FINISHED SUCCESSFULLY FOR EVENT: {}", saga.getId());
+        return notifyFinishedSaga(saga);
     }
 
-    public void finishSagaFail(Event event) {
-        event.setSource(EEventSource.ORCHESTRATOR);
-        event.setStatus(ESagaStatus.FAIL);
-        log.info("SAGA FINISHED WITH ERRORS FOR EVENT: {}", event.getId());
-        addHistory(event, "Saga finished with errors!");
-        notifyFinishedSaga(event);
+    public CompletableFuture<Void> finishSagaFail(Event event) {
+        var saga = sagaStateStore.finish(event, finished -> {
+            finished.setSource(EEventSource.ORCHESTRATOR);
+            finished.setStatus(ESagaStatus.FAIL);
+            addHistory(finished, "Saga finished with errors!");
+        });
+        log.info("SAGA FINISHED WITH ERRORS FOR EVENT: {}", saga.getId());
+        return notifyFinishedSaga(saga);
     }
 
-    public void continueSaga(Event event) {
-        var topic = getTopic(event);
-        log.info("SAGA CONTINUING FOR EVENT: {}", event.getId());
-        sendToProducerWithTopic(event, topic);
+    public CompletableFuture<Void> continueSaga(Event event) {
+        Optional<SagaTransition> transition;
+        try {
+            transition = sagaStateStore.advance(event,
+                    currentTopic -> sagaExecutionController.isExpectedReply(currentTopic, event),
+                    saga -> track(saga, getTopic(saga)));
+        } catch (RuntimeException ex) {
+            trackCurrentTopic(event.getOrderId());
+            throw ex;
+        }
+        if (transition.isEmpty()) {
+            log.warn("DISCARDING LATE REPLY FROM {} WITH STATUS {} FOR ORDER: {}", event.getSource(), event.getStatus(), event.getOrderId());
+            sagaTimeoutTracker.registerLateReply(event);
+            return CompletableFuture.completedFuture(null);
+        }
+        log.info("SAGA CONTINUING FOR EVENT: {}", transition.get().event().getId());
+        return sendTransition(transition.get())
+                .whenComplete((result, ex) -> restoreOnFailure(transition.get(), ex));
+    }
+
+    public void timeoutSaga(SagaDeadline deadline) {
+        Optional<SagaTransition> transition;
+        try {
+            transition = sagaStateStore.transition(deadline.orderId(), deadline.topic()::equals, saga -> {
+                sagaExecutionController.applyStepTimeout(saga, deadline.topic());
+                addHistory(saga, String.format("Timed out waiting for a reply on topic %s.", deadline.topic().getTopic()));
+                return track(saga, getTopic(saga));
+            });
+        } catch (RuntimeException ex) {
+            trackCurrentTopic(deadline.orderId());
+            throw ex;
+        }
+        transition.ifPresent(timeout -> {
+            log.warn("SAGA STEP TIMED OUT ON TOPIC {} FOR ORDER: {}", deadline.topic(), deadline.orderId());
+            sendTransition(timeout).whenComplete((result, ex) -> restoreOnFailure(timeout, ex));
+        });
+    }
+
+    private void restoreOnFailure(SagaTransition transition, Throwable ex) {
+        if (ex == null) {
+            return;
+        }
+        var orderId = transition.event().getOrderId();
+        log.error("Error trying to send saga step to topic {} for order {}, waiting on topic {} again: ", transition.topic(), orderId, transition.previousTopic(), ex);
+        sagaStateStore.transition(orderId, transition.topic()::equals, saga -> track(saga, transition.previousTopic()));
     }
 
     private ETopics getTopic(Event event) {
@@ -71,11 +124,24 @@ public class OrchestratorService {
         event.addToHistory(history);
     }
 
-    private void sendToProducerWithTopic(Event event, ETopics topic) {
-        producer.sendEvent(jsonUtil.toJson(event), topic.getTopic());
+    private void trackCurrentTopic(String orderId) {
+        sagaStateStore
+                .findByOrderId(orderId)
+                .ifPresent(state -> track(state.getEvent(), state.getCurrentTopic()));
+    }
+
+        private ETopics track(Event saga, ETopics topic) {
+        sagaTimeoutTracker.track(saga, topic);
+        return topic;
+    }
+
+    private CompletableFuture<Void> sendTransition(SagaTransition transition) {
+        var saga = transition.event();
+        return producer.sendEvent(saga.getOrderId(), saga, transition.topic().getTopic());
     }
 
-    private void notifyFinishedSaga(Event event) {
-        producer.sendEvent(jsonUtil.toJson(event), NOTIFY_ENDING.getTopic());
+    private CompletableFuture<Void> notifyFinishedSaga(Event event) {
+        sagaTimeoutTracker.cancel(event.getOrderId());
+        return producer.sendEvent(event.getOrderId(), event, NOTIFY_ENDING.getTopic());
     }
 }
@@ -0,0 +1,46 @@
+package com.microservices.orchestration.core.service;
+
+import com.microservices.orchestration.config.exception.ValidationException;
+import com.microservices.orchestration.core.dto.SagaFilters;
+import com.microservices.orchestration.core.dto.SagaInFlight;
+import com.microservices.orchestration.core.dto.SagaState;
+import com.microservices.orchestration.core.saga.SagaStateStore;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ObjectUtils;
+
+@Service
+@AllArgsConstructor
+public class SagaService {
+
+    private final SagaStateStore sagaStateStore;
+
+    public SagaState findByFilters(SagaFilters filters) {
+        validateEmptyFilters(filters);
+        if (!ObjectUtils.isEmpty(filters.getOrderId())) {
+            return findByOrderId(filters.getOrderId());
+        } else {
+            return findByTransactionId(filters.getTransactionId());
+        }
+    }
+
+    public SagaInFlight findInFlight() {
+        return new SagaInFlight(sagaStateStore.countInFlight(), sagaStateStore.countInFlightByTopic());
+    }
+
+    private SagaState findByOrderId(String orderId) {
+        return sagaStateStore.findByOrderId(orderId)
+                .orElseThrow(() -> new ValidationException("Saga in flight not found by OrderId."));
+    }
+
+    private SagaState findByTransactionId(String transactionId) {
+        return sagaStateStore.findByTransactionId(transactionId)
+                .orElseThrow(() -> new ValidationException("Saga in flight not found by TransactionId."));
+    }
+
+    private void validateEmptyFilters(SagaFilters filters) {
+        if (ObjectUtils.isEmpty(filters.getOrderId()) && ObjectUtils.isEmpty(filters.getTransactionId())) {
+            throw new ValidationException("OrderId or transactionId cannot be empty");
+        }
+    }
+}
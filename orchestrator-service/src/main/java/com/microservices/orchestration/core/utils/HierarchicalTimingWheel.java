@@ -0,0 +1,125 @@
+package com.microservices.orchestration.core.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+public class HierarchicalTimingWheel<T> {
+
+    private final PriorityQueue<Bucket<T>> buckets = new PriorityQueue<>(Comparator.comparingLong(Bucket::getExpiration));
+    private final long tickMs;
+    private final Wheel<T> wheel;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.tickMs = tickMs;
+        this.wheel = new Wheel<>(tickMs, wheelSize, startMs, buckets);
+    }
+
+    public synchronized boolean add(T task, long expirationMs) {
+        return wheel.add(new Entry<>(task, expirationMs + tickMs - 1));
+    }
+
+    public synchronized List<T> advance(long nowMs) {
+        var expired = new ArrayList<T>();
+        var bucket = buckets.peek();
+        while (bucket != null && bucket.getExpiration() <= nowMs) {
+            buckets.poll();
+            wheel.advanceClock(bucket.getExpiration());
+            for (var entry : bucket.flush()) {
+                if (!wheel.add(entry)) {
+                    expired.add(entry.task());
+                }
+            }
+            bucket = buckets.peek();
+        }
+        wheel.advanceClock(nowMs);
+        return expired;
+    }
+
+    private record Entry<T>(T task, long expirationMs) {
+    }
+
+    private static final class Bucket<T> {
+
+        private List<Entry<T>> entries = new ArrayList<>();
+        private long expiration = -1;
+
+        long getExpiration() {
+            return expiration;
+        }
+
+        boolean setExpiration(long expiration) {
+            var changed = this.expiration != expiration;
+            this.expiration = expiration;
+            return changed;
+        }
+
+        void add(Entry<T> entry) {
+            entries.add(entry);
+        }
+
+        List<Entry<T>> flush() {
+            var flushed = entries;
+            entries = new ArrayList<>();
+            expiration = -1;
+            return flushed;
+        }
+    }
+
+    private static final class Wheel<T> {
+
+        private final long tickMs;
+        private final int wheelSize;
+        private final long interval;
+        private final List<Bucket<T>> slots;
+        private final PriorityQueue<Bucket<T>> buckets;
+        private long currentTime;
+        private Wheel<T> overflowWheel;
+
+        Wheel(long tickMs, int wheelSize, long startMs, PriorityQueue<Bucket<T>> buckets) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.buckets = buckets;
+            this.currentTime = startMs - (startMs % tickMs);
+            this.slots = new ArrayList<>(wheelSize);
+            for (var i = 0; i < wheelSize; i++) {
+                slots.add(new Bucket<>());
+            }
+        }
+
+        boolean add(Entry<T> entry) {
+            var expiration = entry.expirationMs();
+            if (expiration < currentTime + tickMs) {
+                return false;
+            }
+            if (expiration < currentTime + interval) {
+                var virtualId = expiration / tickMs;
+                var bucket = slots.get((int) (virtualId % wheelSize));
+                bucket.add(entry);
+                if (bucket.setExpiration(virtualId * tickMs)) {
+                    buckets.add(bucket);
+                }
+                return true;
+            }
+            return getOverflowWheel().add(entry);
+        }
+
+        void advanceClock(long timeMs) {
+            if (timeMs >= currentTime + tickMs) {
+                currentTime = timeMs - (timeMs % tickMs);
+                if (overflowWheel != null) {
+                    overflowWheel.advanceClock(currentTime);
+                }
+            }
+        }
+
+        private Wheel<T> getOverflowWheel() {
+            if (overflowWheel == null) {
+                overflowWheel = new Wheel<>(interval, wheelSize, currentTime, buckets);
+            }
+            return overflowWheel;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.microservices.orchestration.core.saga;
+
+import com.microservices.orchestration.commons.dto.Event;
+import com.microservices.orchestration.commons.dto.Order;
+import com.microservices.orchestration.commons.enums.EEventSource;
+import com.microservices.orchestration.commons.enums.ESagaStatus;
+import com.microservices.orchestration.config.exception.ValidationException;
+import com.microservices.orchestration.core.enums.ETopics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SagaExecutionControllerTest {
+
+    private final SagaExecutionController sagaExecutionController = new SagaExecutionController();
+
+    @ParameterizedTest
+    @CsvSource({
+            "ORCHESTRATOR, SUCCESS, PRODUCT_VALIDATION_SUCCESS",
+            "ORCHESTRATOR, ROLLBACK_PENDING, FINISH_FAIL",
+            "ORCHESTRATOR, FAIL, FINISH_FAIL",
+            "PRODUCT_VALIDATION_SERVICE, ROLLBACK_PENDING, PRODUCT_VALIDATION_FAIL",
+            "PRODUCT_VALIDATION_SERVICE, FAIL, FINISH_FAIL",
+            "PRODUCT_VALIDATION_SERVICE, SUCCESS, PAYMENT_SUCCESS",
+            "PAYMENT_SERVICE, ROLLBACK_PENDING, PAYMENT_FAIL",
+            "PAYMENT_SERVICE, FAIL, PRODUCT_VALIDATION_FAIL",
+            "PAYMENT_SERVICE, SUCCESS, INVENTORY_SUCCESS",
+            "INVENTORY_SERVICE, ROLLBACK_PENDING, INVENTORY_FAIL",
+            "INVENTORY_SERVICE, FAIL, PAYMENT_FAIL",
+            "INVENTORY_SERVICE, SUCCESS, FINISH_SUCCESS"
+    })
+    void routesEverySourceAndStatusToItsTopic(EEventSource source, ESagaStatus status, ETopics topic) {
+        assertThat(sagaExecutionController.getNextTopic(event(source, status))).isEqualTo(topic);
+    }
+
+    @Test
+    void coversEverySourceAndStatus() {
+        for (var source : EEventSource.values()) {
+            for (var status : ESagaStatus.values()) {
+                assertThat(SagaExecutionController.findTopic(source, status)).isNotNull();
+            }
+        }
+    }
+
+    @Test
+    void rejectsAnEventWithoutSourceOrStatus() {
+        assertThatThrownBy(() -> sagaExecutionController.getNextTopic(event(null, ESagaStatus.SUCCESS)))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> sagaExecutionController.getNextTopic(event(EEventSource.PAYMENT_SERVICE, null)))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "PRODUCT_VALIDATION_SUCCESS, PRODUCT_VALIDATION_SERVICE, ROLLBACK_PENDING, PRODUCT_VALIDATION_FAIL",
+            "PRODUCT_VALIDATION_FAIL, PRODUCT_VALIDATION_SERVICE, FAIL, FINISH_FAIL",
+            "PAYMENT_SUCCESS, PAYMENT_SERVICE, ROLLBACK_PENDING, PAYMENT_FAIL",
+            "PAYMENT_FAIL, PAYMENT_SERVICE, FAIL, PRODUCT_VALIDATION_FAIL",
+            "INVENTORY_SUCCESS, INVENTORY_SERVICE, ROLLBACK_PENDING, INVENTORY_FAIL",
+            "INVENTORY_FAIL, INVENTORY_SERVICE, FAIL, PAYMENT_FAIL"
+    })
+    void timesOutAStepAsIfTheServiceHadFailed(ETopics awaitedTopic, EEventSource source, ESagaStatus status, ETopics nextTopic) {
+        var saga = event(EEventSource.ORCHESTRATOR, ESagaStatus.SUCCESS);
+
+        sagaExecutionController.applyStepTimeout(saga, awaitedTopic);
+
+        assertThat(saga.getSource()).isEqualTo(source);
+        assertThat(saga.getStatus()).isEqualTo(status);
+        assertThat(sagaExecutionController.getNextTopic(saga)).isEqualTo(nextTopic);
+    }
+
+    @Test
+    void rejectsATimeoutOnATopicThatIsNotAServiceStep() {
+        assertThatThrownBy(() -> sagaExecutionController.applyStepTimeout(event(EEventSource.ORCHESTRATOR, ESagaStatus.SUCCESS), ETopics.FINISH_FAIL))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void acceptsOnlyTheReplyOfTheAwaitedStep() {
+        assertThat(sagaExecutionController.isExpectedReply(ETopics.PAYMENT_SUCCESS, event(EEventSource.PAYMENT_SERVICE, ESagaStatus.SUCCESS))).isTrue();
+        assertThat(sagaExecutionController.isExpectedReply(ETopics.PAYMENT_SUCCESS, event(EEventSource.PAYMENT_SERVICE, ESagaStatus.ROLLBACK_PENDING))).isTrue();
+        assertThat(sagaExecutionController.isExpectedReply(ETopics.PAYMENT_SUCCESS, event(EEventSource.PAYMENT_SERVICE, ESagaStatus.FAIL))).isFalse();
+        assertThat(sagaExecutionController.isExpectedReply(ETopics.PAYMENT_SUCCESS, event(EEventSource.INVENTORY_SERVICE, ESagaStatus.SUCCESS))).isFalse();
+        assertThat(sagaExecutionController.isExpectedReply(ETopics.PAYMENT_FAIL, event(EEventSource.PAYMENT_SERVICE, ESagaStatus.FAIL))).isTrue();
+        assertThat(sagaExecutionController.isExpectedReply(ETopics.PAYMENT_FAIL, event(EEventSource.PAYMENT_SERVICE, ESagaStatus.SUCCESS))).isFalse();
+        assertThat(sagaExecutionController.isExpectedReply(null, event(EEventSource.PAYMENT_SERVICE, ESagaStatus.SUCCESS))).isTrue();
+    }
+
+    private Event event(EEventSource source, ESagaStatus status) {
+        return Event
+                .builder()
+                .id("event-1")
+                .orderId("order-1")
+                .transactionId("transaction-1")
+                .payload(Order.builder().id("order-1").build())
+                .source(source)
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,142 @@
+package com.microservices.orchestration.core.saga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.orchestration.commons.dto.Event;
+import com.microservices.orchestration.commons.enums.EEventSource;
+import com.microservices.orchestration.commons.enums.ESagaStatus;
+import com.microservices.orchestration.core.dto.SagaState;
+import com.microservices.orchestration.core.enums.ETopics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SagaStateLogTest {
+
+    private static final String LOG_FILE = "saga-state.log";
+    private static final String COMPACTION_FILE = "saga-state.log.compacting";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path directory;
+
+    private SagaStateLog sagaStateLog;
+
+    @AfterEach
+    void closeLog() {
+        if (sagaStateLog != null) {
+            sagaStateLog.close();
+        }
+    }
+
+    @Test
+    void replaysTheLatestStateOfEverySagaInFlight() {
+        openLog(100);
+        sagaStateLog.append(state("order-1", ETopics.PRODUCT_VALIDATION_SUCCESS, false));
+        sagaStateLog.append(state("order-2", ETopics.PRODUCT_VALIDATION_SUCCESS, false));
+        sagaStateLog.append(state("order-1", ETopics.PAYMENT_SUCCESS, false));
+        sagaStateLog.append(state("order-2", ETopics.PAYMENT_SUCCESS, true));
+
+        var sagas = openLog(100);
+
+        assertThat(sagas).containsOnlyKeys("order-1");
+        var replayed = sagas.get("order-1");
+        assertThat(replayed.getCurrentTopic()).isEqualTo(ETopics.PAYMENT_SUCCESS);
+        assertThat(replayed.getTransactionId()).isEqualTo("transaction-order-1");
+        assertThat(replayed.getEvent().getStatus()).isEqualTo(ESagaStatus.SUCCESS);
+        assertThat(replayed.getEvent().getSource()).isEqualTo(EEventSource.ORCHESTRATOR);
+    }
+
+    @Test
+    void compactsTheLogToTheSagasInFlight() throws IOException {
+        openLog(4);
+        sagaStateLog.append(state("order-1", ETopics.PRODUCT_VALIDATION_SUCCESS, false));
+        sagaStateLog.append(state("order-2", ETopics.PRODUCT_VALIDATION_SUCCESS, false));
+        sagaStateLog.append(state("order-1", ETopics.PAYMENT_SUCCESS, false));
+        sagaStateLog.append(state("order-2", ETopics.PAYMENT_SUCCESS, true));
+
+        assertThat(Files.readAllLines(directory.resolve(LOG_FILE))).hasSize(1);
+        assertThat(directory.resolve(COMPACTION_FILE)).doesNotExist();
+
+        sagaStateLog.append(state("order-3", ETopics.PRODUCT_VALIDATION_SUCCESS, false));
+
+        var sagas = openLog(4);
+
+        assertThat(sagas).containsOnlyKeys("order-1", "order-3");
+        assertThat(sagas.get("order-1").getCurrentTopic()).isEqualTo(ETopics.PAYMENT_SUCCESS);
+    }
+
+    @Test
+    void ignoresACompactionInterruptedBeforeTheSwap() throws IOException {
+        openLog(100);
+        sagaStateLog.append(state("order-1", ETopics.PRODUCT_VALIDATION_SUCCESS, false));
+        sagaStateLog.append(state("order-2", ETopics.INVENTORY_SUCCESS, false));
+        sagaStateLog.close();
+        Files.writeString(directory.resolve(COMPACTION_FILE), "{\"orderId\":\"order-1\",\"curr");
+
+        var sagas = openLog(100);
+
+        assertThat(sagas).containsOnlyKeys("order-1", "order-2");
+        assertThat(sagas.get("order-2").getCurrentTopic()).isEqualTo(ETopics.INVENTORY_SUCCESS);
+        assertThat(directory.resolve(COMPACTION_FILE)).doesNotExist();
+    }
+
+    @Test
+    void skipsAnEntryTornByACrashWhileAppending() throws IOException {
+        openLog(100);
+        sagaStateLog.append(state("order-1", ETopics.PAYMENT_SUCCESS, false));
+        sagaStateLog.close();
+        Files.writeString(directory.resolve(LOG_FILE), "{\"orderId\":\"order-2\",\"curr", StandardOpenOption.APPEND);
+
+        var sagas = openLog(100);
+
+        assertThat(sagas).containsOnlyKeys("order-1");
+    }
+
+    @Test
+    void failsTheAppendWhenTheStateCannotBeWritten() {
+        openLog(100);
+        sagaStateLog.close();
+
+        assertThatThrownBy(() -> sagaStateLog.append(state("order-1", ETopics.PAYMENT_SUCCESS, false)))
+                .isInstanceOf(UncheckedIOException.class);
+    }
+
+    private Map<String, SagaState> openLog(long compactionThreshold) {
+        closeLog();
+        sagaStateLog = new SagaStateLog(objectMapper, directory.toString(), compactionThreshold, false);
+        return sagaStateLog.replay();
+    }
+
+    private SagaState state(String orderId, ETopics topic, boolean finished) {
+        var event = Event
+                .builder()
+                .id("event-" + orderId)
+                .orderId(orderId)
+                .transactionId("transaction-" + orderId)
+                .source(EEventSource.ORCHESTRATOR)
+                .status(ESagaStatus.SUCCESS)
+                .createdAt(LocalDateTime.now())
+                .build();
+        return SagaState
+                .builder()
+                .orderId(orderId)
+                .transactionId(event.getTransactionId())
+                .currentTopic(topic)
+                .finished(finished)
+                .event(event)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
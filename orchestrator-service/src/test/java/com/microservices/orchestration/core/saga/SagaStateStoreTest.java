@@ -0,0 +1,162 @@
+package com.microservices.orchestration.core.saga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.orchestration.commons.dto.Event;
+import com.microservices.orchestration.commons.dto.History;
+import com.microservices.orchestration.commons.enums.EEventSource;
+import com.microservices.orchestration.commons.enums.ESagaStatus;
+import com.microservices.orchestration.core.enums.ETopics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SagaStateStoreTest {
+
+    private static final String ORDER_ID = "order-1";
+
+    @TempDir
+    Path directory;
+
+    private SagaStateStore sagaStateStore;
+
+    @BeforeEach
+    void openStore() {
+        var sagaStateLog = new SagaStateLog(new ObjectMapper().findAndRegisterModules(), directory.toString(), 100, false);
+        sagaStateStore = new SagaStateStore(sagaStateLog);
+        sagaStateStore.rebuild();
+        sagaStateStore.start(event(EEventSource.ORCHESTRATOR, ESagaStatus.SUCCESS), saga -> ETopics.PAYMENT_SUCCESS);
+    }
+
+    @AfterEach
+    void closeStore() {
+        sagaStateStore.close();
+    }
+
+    @Test
+    void discardsAReplyAfterTheStepTimedOut() {
+        var timeout = sagaStateStore.transition(ORDER_ID, ETopics.PAYMENT_SUCCESS::equals, saga -> ETopics.PAYMENT_FAIL);
+        var reply = sagaStateStore.advance(event(EEventSource.PAYMENT_SERVICE, ESagaStatus.SUCCESS), ETopics.PAYMENT_SUCCESS::equals, saga -> ETopics.INVENTORY_SUCCESS);
+
+        assertThat(timeout).hasValueSatisfying(transition -> {
+            assertThat(transition.previousTopic()).isEqualTo(ETopics.PAYMENT_SUCCESS);
+            assertThat(transition.topic()).isEqualTo(ETopics.PAYMENT_FAIL);
+        });
+        assertThat(reply).isEmpty();
+        assertThat(sagaStateStore.findByOrderId(ORDER_ID)).hasValueSatisfying(state -> {
+            assertThat(state.getCurrentTopic()).isEqualTo(ETopics.PAYMENT_FAIL);
+            assertThat(state.getEvent().getSource()).isEqualTo(EEventSource.ORCHESTRATOR);
+        });
+    }
+
+    @Test
+    void ignoresATimeoutAfterTheReplyMovedTheSagaOn() {
+        var reply = sagaStateStore.advance(event(EEventSource.PAYMENT_SERVICE, ESagaStatus.SUCCESS), ETopics.PAYMENT_SUCCESS::equals, saga -> ETopics.INVENTORY_SUCCESS);
+        var timeout = sagaStateStore.transition(ORDER_ID, ETopics.PAYMENT_SUCCESS::equals, saga -> ETopics.PAYMENT_FAIL);
+
+        assertThat(reply).hasValueSatisfying(transition -> assertThat(transition.event().getSource()).isEqualTo(EEventSource.PAYMENT_SERVICE));
+        assertThat(timeout).isEmpty();
+        assertThat(sagaStateStore.findByOrderId(ORDER_ID)).hasValueSatisfying(state -> assertThat(state.getCurrentTopic()).isEqualTo(ETopics.INVENTORY_SUCCESS));
+    }
+
+    @Test
+    void movesTheSagaOnceWhenTheReplyAndTheTimeoutRace() throws Exception {
+        var threads = 8;
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(threads);
+        var attempts = new ArrayList<Future<Boolean>>();
+        try {
+            for (var thread = 0; thread < threads; thread++) {
+                var timeout = thread % 2 == 0;
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    if (timeout) {
+                        return sagaStateStore.transition(ORDER_ID, ETopics.PAYMENT_SUCCESS::equals, saga -> ETopics.PAYMENT_FAIL).isPresent();
+                    }
+                    var reply = event(EEventSource.PAYMENT_SERVICE, ESagaStatus.SUCCESS);
+                    return sagaStateStore.advance(reply, ETopics.PAYMENT_SUCCESS::equals, saga -> ETopics.INVENTORY_SUCCESS).isPresent();
+                }));
+            }
+            start.countDown();
+            var transitions = 0;
+            for (var attempt : attempts) {
+                if (attempt.get(10, TimeUnit.SECONDS)) {
+                    transitions++;
+                }
+            }
+            assertThat(transitions).isOne();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void sendsTheNextCommandWithoutTheHistoryButKeepsItInTheStore() {
+        var reply = sagaStateStore.advance(event(EEventSource.PAYMENT_SERVICE, ESagaStatus.SUCCESS), ETopics.PAYMENT_SUCCESS::equals, saga -> ETopics.INVENTORY_SUCCESS);
+
+        assertThat(reply).hasValueSatisfying(transition -> assertThat(transition.event().getEventHistory()).isNull());
+        assertThat(sagaStateStore.findByOrderId(ORDER_ID)).hasValueSatisfying(state -> assertThat(state.getEvent().getEventHistory())
+                .extracting(History::getSource)
+                .containsExactly(EEventSource.ORCHESTRATOR, EEventSource.PAYMENT_SERVICE));
+    }
+
+    @Test
+    void finishesTheSagaAndReturnsACopyOfItsHistory() {
+        var saga = sagaStateStore.finish(event(EEventSource.INVENTORY_SERVICE, ESagaStatus.SUCCESS), finished -> finished.setStatus(ESagaStatus.SUCCESS));
+
+        assertThat(saga.getEventHistory())
+                .extracting(History::getSource)
+                .containsExactly(EEventSource.ORCHESTRATOR, EEventSource.INVENTORY_SERVICE);
+        assertThat(sagaStateStore.findByOrderId(ORDER_ID)).isEmpty();
+        assertThat(sagaStateStore.transition(ORDER_ID, topic -> true, finished -> ETopics.FINISH_SUCCESS)).isEmpty();
+    }
+
+    @Test
+    void keepsTheSagaWhereItWasWhenTheTransitionCannotBeLogged() {
+        sagaStateStore.close();
+
+        assertThatThrownBy(() -> sagaStateStore.advance(event(EEventSource.PAYMENT_SERVICE, ESagaStatus.SUCCESS), ETopics.PAYMENT_SUCCESS::equals, saga -> ETopics.INVENTORY_SUCCESS))
+                .isInstanceOf(UncheckedIOException.class);
+        assertThatThrownBy(() -> sagaStateStore.finish(event(EEventSource.PAYMENT_SERVICE, ESagaStatus.SUCCESS), finished -> finished.setStatus(ESagaStatus.SUCCESS)))
+                .isInstanceOf(UncheckedIOException.class);
+
+        assertThat(sagaStateStore.findByOrderId(ORDER_ID)).hasValueSatisfying(state -> {
+            assertThat(state.isFinished()).isFalse();
+            assertThat(state.getCurrentTopic()).isEqualTo(ETopics.PAYMENT_SUCCESS);
+            assertThat(state.getEvent().getSource()).isEqualTo(EEventSource.ORCHESTRATOR);
+            assertThat(state.getEvent().getEventHistory()).extracting(History::getSource).containsExactly(EEventSource.ORCHESTRATOR);
+        });
+    }
+
+    private Event event(EEventSource source, ESagaStatus status) {
+        var event = Event
+                .builder()
+                .id("event-1")
+                .orderId(ORDER_ID)
+                .transactionId("transaction-1")
+                .source(source)
+                .status(status)
+                .createdAt(LocalDateTime.now())
+                .build();
+        event.addToHistory(History
+                .builder()
+                .source(source)
+                .status(status)
+                .message("Step executed!")
+                .createdAt(LocalDateTime.now())
+                .build());
+        return event;
+    }
+}
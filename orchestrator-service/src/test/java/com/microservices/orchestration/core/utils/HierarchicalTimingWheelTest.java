@@ -0,0 +1,87 @@
+package com.microservices.orchestration.core.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK_MS = 10;
+    private static final int WHEEL_SIZE = 8;
+    private static final long START_MS = 1_000;
+
+    private final HierarchicalTimingWheel<String> timingWheel = new HierarchicalTimingWheel<>(TICK_MS, WHEEL_SIZE, START_MS);
+
+    @Test
+    void expiresATaskOnlyOnceItsDeadlinePassed() {
+        assertThat(timingWheel.add("order-1", START_MS + 35)).isTrue();
+
+        assertThat(timingWheel.advance(START_MS + 34)).isEmpty();
+        assertThat(timingWheel.advance(START_MS + 40)).containsExactly("order-1");
+        assertThat(timingWheel.advance(START_MS + 100)).isEmpty();
+    }
+
+    @Test
+    void rejectsATaskThatIsAlreadyDue() {
+        assertThat(timingWheel.add("order-1", START_MS)).isFalse();
+        assertThat(timingWheel.add("order-2", START_MS - 50)).isFalse();
+        assertThat(timingWheel.add("order-3", START_MS + 1)).isTrue();
+    }
+
+    @Test
+    void expiresEveryTaskOfTheSameTickTogether() {
+        timingWheel.add("order-1", START_MS + 21);
+        timingWheel.add("order-2", START_MS + 25);
+        timingWheel.add("order-3", START_MS + 29);
+
+        assertThat(timingWheel.advance(START_MS + 30)).containsExactlyInAnyOrder("order-1", "order-2", "order-3");
+    }
+
+    @Test
+    void cascadesTasksBeyondTheFirstWheelDownToTheirTick() {
+        var wheelIntervalMs = TICK_MS * WHEEL_SIZE;
+        timingWheel.add("next-wheel", START_MS + wheelIntervalMs * 3 + 5);
+        timingWheel.add("third-wheel", START_MS + wheelIntervalMs * WHEEL_SIZE * 2 + 5);
+
+        assertThat(timingWheel.advance(START_MS + wheelIntervalMs * 3)).isEmpty();
+        assertThat(timingWheel.advance(START_MS + wheelIntervalMs * 3 + TICK_MS)).containsExactly("next-wheel");
+        assertThat(timingWheel.advance(START_MS + wheelIntervalMs * WHEEL_SIZE * 2)).isEmpty();
+        assertThat(timingWheel.advance(START_MS + wheelIntervalMs * WHEEL_SIZE * 2 + TICK_MS)).containsExactly("third-wheel");
+    }
+
+    @Test
+    void expiresEveryTaskOnceAndNeverBeforeItsDeadline() {
+        var random = new Random(42);
+        var deadlines = new HashMap<String, Long>();
+        for (var i = 0; i < 2_000; i++) {
+            var deadline = START_MS + 1 + random.nextInt(20_000);
+            deadlines.put("order-" + i, deadline);
+            assertThat(timingWheel.add("order-" + i, deadline)).isTrue();
+        }
+
+        var expiredAt = new HashMap<String, Long>();
+        for (var nowMs = START_MS; nowMs <= START_MS + 20_000 + TICK_MS; nowMs += 7) {
+            for (var task : timingWheel.advance(nowMs)) {
+                assertThat(expiredAt.put(task, nowMs)).isNull();
+            }
+        }
+
+        assertThat(expiredAt).containsOnlyKeys(deadlines.keySet());
+        expiredAt.forEach((task, nowMs) -> assertThat(nowMs)
+                .isGreaterThanOrEqualTo(deadlines.get(task))
+                .isLessThan(deadlines.get(task) + 2 * TICK_MS));
+    }
+
+    @Test
+    void expiresEverythingDueWhenTheClockJumpsAhead() {
+        timingWheel.add("order-1", START_MS + 15);
+        timingWheel.add("order-2", START_MS + 500);
+        timingWheel.add("order-3", START_MS + 5_000);
+
+        assertThat(timingWheel.advance(START_MS + 1_000)).containsExactlyInAnyOrder("order-1", "order-2");
+        assertThat(timingWheel.advance(START_MS + 5_010)).containsExactly("order-3");
+    }
+}
@@ -0,0 +1,99 @@
+package com.microservices.orchestration.config.mongo;
+
+import com.microservices.orchestration.commons.utils.CentsConverter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LegacyAmountMigration {
+
+    private static final String ORDER_COLLECTION = "order";
+    private static final String EVENT_COLLECTION = "event";
+    private static final String PAYLOAD = "payload";
+    private static final String PRODUCTS = "products";
+    private static final String PRODUCT = "product";
+    private static final String TOTAL_AMOUNT = "totalAmount";
+    private static final String TOTAL_AMOUNT_IN_CENTS = "totalAmountInCents";
+    private static final String UNIT_VALUE = "unitValue";
+    private static final String UNIT_VALUE_IN_CENTS = "unitValueInCents";
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @PostConstruct
+    public void migrate() {
+        migrateCollection(ORDER_COLLECTION, "");
+        migrateCollection(EVENT_COLLECTION, PAYLOAD + ".");
+    }
+
+    static boolean migrateOrder(Document order) {
+        var migrated = migrateAmount(order, TOTAL_AMOUNT, TOTAL_AMOUNT_IN_CENTS);
+        if (order.get(PRODUCTS) instanceof List<?> products) {
+            for (var orderProduct : products) {
+                if (orderProduct instanceof Document document && document.get(PRODUCT) instanceof Document product) {
+                    migrated |= migrateAmount(product, UNIT_VALUE, UNIT_VALUE_IN_CENTS);
+                }
+            }
+        }
+        return migrated;
+    }
+
+    static boolean migrateEvent(Document event) {
+        return event.get(PAYLOAD) instanceof Document payload && migrateOrder(payload);
+    }
+
+    private void migrateCollection(String collection, String orderPath) {
+        var query = new Query(new Criteria().orOperator(
+                where(orderPath + TOTAL_AMOUNT).exists(true),
+                where(orderPath + PRODUCTS + "." + PRODUCT + "." + UNIT_VALUE).exists(true)));
+        var bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+        var pending = 0;
+        var migrated = 0;
+        try (var documents = mongoTemplate.stream(query, Document.class, collection)) {
+            for (var iterator = documents.iterator(); iterator.hasNext(); ) {
+                var document = iterator.next();
+                var changed = ORDER_COLLECTION.equals(collection) ? migrateOrder(document) : migrateEvent(document);
+                if (!changed) {
+                    continue;
+                }
+                bulkOperations.replaceOne(new Query(where("_id").is(document.get("_id"))), document);
+                pending++;
+                if (pending == BATCH_SIZE) {
+                    migrated += bulkOperations.execute().getModifiedCount();
+                    bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+                    pending = 0;
+                }
+            }
+        }
+        if (pending > 0) {
+            migrated += bulkOperations.execute().getModifiedCount();
+        }
+        if (migrated > 0) {
+            log.info("Converted the legacy amounts of {} documents of collection {} to cents", migrated, collection);
+        }
+    }
+
+    private static boolean migrateAmount(Document document, String legacyField, String centsField) {
+        if (!document.containsKey(legacyField)) {
+            return false;
+        }
+        var legacyAmount = document.remove(legacyField);
+        if (!document.containsKey(centsField) && legacyAmount instanceof Number amount) {
+            document.put(centsField, CentsConverter.toCents(amount.doubleValue()));
+        }
+        return true;
+    }
+}
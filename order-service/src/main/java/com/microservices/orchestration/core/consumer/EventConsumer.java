@@ -1,10 +1,11 @@
 package com.microservices.orchestration.core.consumer;
 
+import com.microservices.orchestration.core.document.Event;
 import com.microservices.orchestration.core.service.EventService;
-import com.microservices.orchestration.core.utils.JsonUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
 @Slf4j
@@ -12,16 +13,16 @@ import org.springframework.stereotype.Component;
 @AllArgsConstructor
 public class EventConsumer {
 
-    private final JsonUtil jsonUtil;
     private final EventService eventService;
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.notify-ending}"
+            topics = "${spring.kafka.topic.notify-ending}",
+            concurrency = "${spring.kafka.partitions.notify-ending:${spring.kafka.listener.concurrency}}"
     )
-    public void consumeNotifyEndingEvent(String payload) {
-        log.info("Received Notify Ending Event: {}", payload);
-        var event = jsonUtil.toEvent(payload);
+    public void consumeNotifyEndingEvent(Event event, Acknowledgment acknowledgment) {
+        log.info("Received Notify Ending Event: {}", event);
         eventService.notifyEnding(event);
+        acknowledgment.acknowledge();
     }
 }
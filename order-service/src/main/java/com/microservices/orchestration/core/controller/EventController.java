@@ -2,6 +2,7 @@ package com.microservices.orchestration.core.controller;
 
 import com.microservices.orchestration.core.document.Event;
 import com.microservices.orchestration.core.dto.EventFilters;
+import com.microservices.orchestration.core.dto.EventSummary;
 import com.microservices.orchestration.core.service.EventService;
 import lombok.AllArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,6 +23,11 @@ public class EventController {
         return eventService.findByFilters(filters);
     }
 
+    @GetMapping("summary")
+    public EventSummary findSummaryByFilters(EventFilters filters) {
+        return eventService.findSummaryByFilters(filters);
+    }
+
     @GetMapping("all")
     public List<Event> findAll() {
         return eventService.findAll();
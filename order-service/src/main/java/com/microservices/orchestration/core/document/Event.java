@@ -5,6 +5,10 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.IndexDirection;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -15,6 +19,10 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection  = "event")
+@CompoundIndexes({
+    @CompoundIndex(name = "order_created_at", def = "{ 'orderId': 1, 'createdAt': -1, 'transactionId': 1, 'source': 1, 'status': 1 }"),
+    @CompoundIndex(name = "transaction_created_at", def = "{ 'transactionId': 1, 'createdAt': -1, 'orderId': 1, 'source': 1, 'status': 1 }")
+})
 public class Event {
 
     @Id
@@ -25,5 +33,6 @@ public class Event {
     private String source;
     private String status;
     private List<History> eventHistory;
+    @Indexed(name = "created_at", direction = IndexDirection.DESCENDING)
     private LocalDateTime createdAt;
 }
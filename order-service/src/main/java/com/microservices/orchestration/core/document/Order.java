@@ -1,5 +1,7 @@
 package com.microservices.orchestration.core.document;
 
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.microservices.orchestration.commons.utils.CentsConverter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -22,6 +24,20 @@ public class Order {
     private List<OrderProducts> products;
     private LocalDateTime createdAt;
     private String transactionId;
-    private double totalAmount;
+    private long totalAmountInCents;
     private int totalItems;
+
+    @JsonSetter("totalAmountInCents")
+    public void setTotalAmountInCents(Long totalAmountInCents) {
+        if (totalAmountInCents != null) {
+            this.totalAmountInCents = totalAmountInCents;
+        }
+    }
+
+    @JsonSetter("totalAmount")
+    public void setTotalAmount(Double totalAmount) {
+        if (totalAmount != null) {
+            this.totalAmountInCents = CentsConverter.toCents(totalAmount);
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package com.microservices.orchestration.core.document;
 
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.microservices.orchestration.commons.utils.CentsConverter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,5 +12,19 @@ import lombok.NoArgsConstructor;
 public class Product {
 
     private String code;
-    private double unitValue;
+    private long unitValueInCents;
+
+    @JsonSetter("unitValueInCents")
+    public void setUnitValueInCents(Long unitValueInCents) {
+        if (unitValueInCents != null) {
+            this.unitValueInCents = unitValueInCents;
+        }
+    }
+
+    @JsonSetter("unitValue")
+    public void setUnitValue(Double unitValue) {
+        if (unitValue != null) {
+            this.unitValueInCents = CentsConverter.toCents(unitValue);
+        }
+    }
 }
@@ -0,0 +1,6 @@
+package com.microservices.orchestration.core.dto;
+
+import java.time.LocalDateTime;
+
+public record EventSummary(String orderId, String transactionId, String source, String status, LocalDateTime createdAt) {
+}
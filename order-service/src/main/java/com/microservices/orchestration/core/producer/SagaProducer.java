@@ -1,27 +1,26 @@
 package com.microservices.orchestration.core.producer;
 
+import com.microservices.orchestration.commons.kafka.BoundedKafkaSender;
+import com.microservices.orchestration.core.document.Event;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class SagaProducer {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final BoundedKafkaSender<String, Event> kafkaSender;
 
     @Value("${spring.kafka.topic.start-saga}")
     private String startSagaTopic;
 
-    public void sendEvent(String payload) {
-        try {
-            log.info("Sending event to topic {} with data {}", startSagaTopic, payload);
-            kafkaTemplate.send(startSagaTopic, payload);
-        } catch (Exception ex) {
-            log.error("Error trying to send data to topic {} with data {}", startSagaTopic, payload, ex);
-        }
+    public CompletableFuture<Void> sendEvent(String orderId, Event event) {
+        log.info("Sending event to topic {} with key {} and data {}", startSagaTopic, orderId, event);
+        return kafkaSender.send(startSagaTopic, orderId, event);
     }
 }
@@ -1,16 +1,26 @@
 package com.microservices.orchestration.core.repository;
 
 import com.microservices.orchestration.core.document.Event;
+import com.microservices.orchestration.core.dto.EventSummary;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface EventRepository extends MongoRepository<Event, String> {
 
+    String SUMMARY_FIELDS = "{ '_id': 0, 'orderId': 1, 'transactionId': 1, 'source': 1, 'status': 1, 'createdAt': 1 }";
+
     List<Event> findAllByOrderByCreatedAtDesc();
 
     Optional<Event> findTop1ByOrderIdOrderByCreatedAtDesc(String orderId);
 
     Optional<Event> findTop1ByTransactionIdOrderByCreatedAtDesc(String transactionId);
+
+    @Query(fields = SUMMARY_FIELDS)
+    Optional<EventSummary> findTop1SummaryByOrderIdOrderByCreatedAtDesc(String orderId);
+
+    @Query(fields = SUMMARY_FIELDS)
+    Optional<EventSummary> findTop1SummaryByTransactionIdOrderByCreatedAtDesc(String transactionId);
 }
@@ -3,6 +3,7 @@ package com.microservices.orchestration.core.service;
 import com.microservices.orchestration.config.exception.ValidationException;
 import com.microservices.orchestration.core.document.Event;
 import com.microservices.orchestration.core.dto.EventFilters;
+import com.microservices.orchestration.core.dto.EventSummary;
 import com.microservices.orchestration.core.repository.EventRepository;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -39,6 +40,17 @@ public class EventService {
         }
     }
 
+    public EventSummary findSummaryByFilters(EventFilters filters) {
+        validateEmptyFilters(filters);
+        if (!ObjectUtils.isEmpty(filters.getOrderId())) {
+            return eventRepository.findTop1SummaryByOrderIdOrderByCreatedAtDesc(filters.getOrderId())
+                    .orElseThrow(() -> new ValidationException("Event not found by OrderId."));
+        } else {
+            return eventRepository.findTop1SummaryByTransactionIdOrderByCreatedAtDesc(filters.getTransactionId())
+                    .orElseThrow(() -> new ValidationException("Event not found by TransactionId."));
+        }
+    }
+
     private Event findByOrderId(String orderId) {
         return eventRepository.findTop1ByOrderIdOrderByCreatedAtDesc(orderId)
                 .orElseThrow(() -> new ValidationException("Event not found by OrderId."));
@@ -1,13 +1,14 @@
 package com.microservices.orchestration.core.service;
 
+import com.microservices.orchestration.config.exception.ValidationException;
 import com.microservices.orchestration.core.document.Event;
 import com.microservices.orchestration.core.document.Order;
 import com.microservices.orchestration.core.dto.OrderRequest;
 import com.microservices.orchestration.core.producer.SagaProducer;
 import com.microservices.orchestration.core.repository.OrderRepository;
-import com.microservices.orchestration.core.utils.JsonUtil;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.util.ObjectUtils;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -21,10 +22,10 @@ public class OrderService {
 
     private final EventService eventService;
     private final SagaProducer sagaProducer;
-    private final JsonUtil jsonUtil;
     private final OrderRepository orderRepository;
 
     public Order createOrder(OrderRequest orderRequest) {
+        validateProducts(orderRequest);
         var order = Order
                 .builder()
                 .products(orderRequest.getProducts())
@@ -34,10 +35,23 @@ public class OrderService {
                 )
                 .build();
         orderRepository.save(order);
-        sagaProducer.sendEvent(jsonUtil.toJson(createPayload(order)));
+        sagaProducer
+                .sendEvent(order.getId(), createPayload(order))
+                .join();
         return order;
     }
 
+    private void validateProducts(OrderRequest orderRequest) {
+        if (ObjectUtils.isEmpty(orderRequest.getProducts())) {
+            throw new ValidationException("Product list is empty!");
+        }
+        orderRequest.getProducts().forEach(product -> {
+            if (ObjectUtils.isEmpty(product.getProduct()) || product.getProduct().getUnitValueInCents() <= 0) {
+                throw new ValidationException("Product unit value must be greater than zero!");
+            }
+        });
+    }
+
     private Event createPayload(Order order) {
         var event = Event
                 .builder()
@@ -0,0 +1,102 @@
+package com.microservices.orchestration.config.mongo;
+
+import com.microservices.orchestration.core.document.Event;
+import com.microservices.orchestration.core.document.Order;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LegacyAmountMigrationTest {
+
+    private MappingMongoConverter converter;
+
+    @BeforeEach
+    void createConverter() {
+        var conversions = new MongoCustomConversions(List.of());
+        var mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+    }
+
+    @Test
+    void readsTheAmountsOfALegacyOrderInCentsOnceMigrated() {
+        var legacyOrder = legacyOrder();
+        assertThat(converter.read(Order.class, legacyOrder).getTotalAmountInCents()).isZero();
+
+        assertThat(LegacyAmountMigration.migrateOrder(legacyOrder)).isTrue();
+        var order = converter.read(Order.class, legacyOrder);
+
+        assertThat(order.getTotalAmountInCents()).isEqualTo(4_019);
+        assertThat(order.getProducts().getFirst().getProduct().getUnitValueInCents()).isEqualTo(1_340);
+        assertThat(legacyOrder).doesNotContainKey("totalAmount");
+        assertThat(LegacyAmountMigration.migrateOrder(legacyOrder)).isFalse();
+    }
+
+    @Test
+    void readsThePayloadOfALegacyEventInCentsOnceMigrated() {
+        var legacyEvent = new Document("_id", "event-1")
+                .append("orderId", "order-1")
+                .append("payload", legacyOrder());
+
+        assertThat(LegacyAmountMigration.migrateEvent(legacyEvent)).isTrue();
+        var event = converter.read(Event.class, legacyEvent);
+
+        assertThat(event.getPayload().getTotalAmountInCents()).isEqualTo(4_019);
+        assertThat(event.getPayload().getProducts().getFirst().getProduct().getUnitValueInCents()).isEqualTo(1_340);
+    }
+
+    @Test
+    void keepsTheCentsOfADocumentThatHasBothFields() {
+        var order = new Document("_id", "order-1")
+                .append("totalAmount", 10.0)
+                .append("totalAmountInCents", 999L);
+
+        LegacyAmountMigration.migrateOrder(order);
+
+        assertThat(order).containsEntry("totalAmountInCents", 999L).doesNotContainKey("totalAmount");
+    }
+
+    @Test
+    void rewritesTheLegacyDocumentsOfBothCollectionsOnStartup() {
+        var mongoTemplate = mock(MongoTemplate.class);
+        var bulkOperations = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), any(String.class))).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(0, 0, 0, 1, List.of(), List.of()));
+        var legacyOrder = legacyOrder();
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("order"))).thenReturn(Stream.of(legacyOrder));
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("event"))).thenReturn(Stream.empty());
+
+        new LegacyAmountMigration(mongoTemplate).migrate();
+
+        verify(bulkOperations).replaceOne(any(Query.class), eq(legacyOrder));
+        verify(bulkOperations, times(1)).execute();
+        assertThat(legacyOrder).containsEntry("totalAmountInCents", 4_019L);
+    }
+
+    private static Document legacyOrder() {
+        var product = new Document("code", "BOOKS").append("unitValue", 13.4);
+        return new Document("_id", "order-1")
+                .append("transactionId", "transaction-1")
+                .append("totalAmount", 40.19)
+                .append("totalItems", 3)
+                .append("products", List.of(new Document("product", product).append("quantity", 3)));
+    }
+}
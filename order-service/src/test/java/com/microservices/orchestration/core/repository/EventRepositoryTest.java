@@ -0,0 +1,83 @@
+package com.microservices.orchestration.core.repository;
+
+import com.microservices.orchestration.core.dto.EventSummary;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.ExecutableFindOperation.ExecutableFind;
+import org.springframework.data.mongodb.core.ExecutableFindOperation.TerminatingFind;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EventRepositoryTest {
+
+    private final MongoOperations mongoOperations = mock(MongoOperations.class);
+    @SuppressWarnings("unchecked")
+    private final ExecutableFind<Object> find = mock(ExecutableFind.class);
+    @SuppressWarnings("unchecked")
+    private final TerminatingFind<Object> terminatingFind = mock(TerminatingFind.class);
+    private final ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+
+    private EventRepository eventRepository;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void createRepository() {
+        var conversions = new MongoCustomConversions(List.of());
+        var mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        var converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        when(mongoOperations.getConverter()).thenReturn(converter);
+        when(mongoOperations.query(any(Class.class))).thenReturn(find);
+        when(find.inCollection(any())).thenReturn(find);
+        when(find.as(any(Class.class))).thenReturn(find);
+        when(find.matching(query.capture())).thenReturn(terminatingFind);
+        eventRepository = new MongoRepositoryFactory(mongoOperations).getRepository(EventRepository.class);
+    }
+
+    @Test
+    void readsTheLatestSummaryByOrderIdAsACoveredQuery() {
+        var summary = new EventSummary("order-1", "transaction-1", "ORCHESTRATOR", "SUCCESS", LocalDateTime.now());
+        when(terminatingFind.firstValue()).thenReturn(summary);
+
+        assertThat(eventRepository.findTop1SummaryByOrderIdOrderByCreatedAtDesc("order-1")).isEqualTo(Optional.of(summary));
+        assertLatestSummaryQuery(new Document("orderId", "order-1"));
+        verify(terminatingFind).firstValue();
+        verify(terminatingFind, never()).oneValue();
+    }
+
+    @Test
+    void readsTheLatestSummaryByTransactionIdAsACoveredQuery() {
+        when(terminatingFind.firstValue()).thenReturn(null);
+
+        assertThat(eventRepository.findTop1SummaryByTransactionIdOrderByCreatedAtDesc("transaction-1")).isEmpty();
+        assertLatestSummaryQuery(new Document("transactionId", "transaction-1"));
+        verify(terminatingFind).firstValue();
+        verify(terminatingFind, never()).oneValue();
+    }
+
+    private void assertLatestSummaryQuery(Document filter) {
+        var captured = query.getValue();
+        assertThat(captured.getQueryObject()).isEqualTo(filter);
+        assertThat(captured.getSortObject()).isEqualTo(new Document("createdAt", -1));
+        assertThat(captured.getFieldsObject())
+                .containsEntry("_id", 0)
+                .containsOnlyKeys("_id", "orderId", "transactionId", "source", "status", "createdAt");
+    }
+}
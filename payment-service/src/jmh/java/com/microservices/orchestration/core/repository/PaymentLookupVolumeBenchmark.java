@@ -0,0 +1,128 @@
+package com.microservices.orchestration.core.repository;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PaymentLookupVolumeBenchmark {
+
+    private static final String SEQUENTIAL_SCAN = "sequential-scan";
+    private static final String DATABASE_URL = "jdbc:postgresql://%s:%s/%s";
+
+    private static final String CREATE_SCHEMA = "CREATE SCHEMA IF NOT EXISTS payment_benchmark";
+    private static final String CREATE_TABLE = """
+            CREATE UNLOGGED TABLE IF NOT EXISTS %s (
+                id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                order_id VARCHAR(255) NOT NULL,
+                transaction_id VARCHAR(255) NOT NULL,
+                total_items INTEGER NOT NULL,
+                total_amount_in_cents BIGINT NOT NULL,
+                status VARCHAR(255) NOT NULL,
+                created_at TIMESTAMP(6) NOT NULL,
+                updated_at TIMESTAMP(6) NOT NULL
+            )
+            """;
+    private static final String INSERT_ROWS = """
+            INSERT INTO %s (order_id, transaction_id, total_items, total_amount_in_cents, status, created_at, updated_at)
+            SELECT lpad(to_hex(n), 24, '0'), md5(n::text), 1 + n %% 10, 1000 + n %% 100000, 'SUCCESS', LOCALTIMESTAMP, LOCALTIMESTAMP
+            FROM generate_series(1, ?) AS n
+            """;
+    private static final String DROP_TABLE = "DROP TABLE %s";
+    private static final String ADD_UNIQUE_KEY = "ALTER TABLE %s ADD CONSTRAINT uk_payment_volume_%d UNIQUE (order_id, transaction_id)";
+    private static final String ANALYZE = "ANALYZE %s";
+    private static final String DISABLE_INDEX_SCANS = "SET enable_indexscan = off; SET enable_bitmapscan = off; SET enable_indexonlyscan = off";
+    private static final String COUNT_ROWS = "SELECT count(*) FROM %s";
+    private static final String FIND_PAYMENT = "SELECT id, status FROM %s WHERE order_id = ? AND transaction_id = ?";
+
+    @Param({ "1000000", "10000000", "30000000" })
+    public int rows;
+
+    @Param({ "index", "sequential-scan" })
+    public String lookup;
+
+    private Connection connection;
+    private PreparedStatement findPayment;
+    private MessageDigest md5;
+
+    @Setup(Level.Trial)
+    public void fillTable() throws SQLException, NoSuchAlgorithmException {
+        md5 = MessageDigest.getInstance("MD5");
+        connection = connect();
+        var table = "payment_benchmark.payment_" + rows;
+        try (var statement = connection.createStatement()) {
+            statement.execute(CREATE_SCHEMA);
+            statement.execute(CREATE_TABLE.formatted(table));
+        }
+        if (countRows(table) != rows) {
+            try (var statement = connection.createStatement()) {
+                statement.execute(DROP_TABLE.formatted(table));
+                statement.execute(CREATE_TABLE.formatted(table));
+            }
+            try (var statement = connection.prepareStatement(INSERT_ROWS.formatted(table))) {
+                statement.setInt(1, rows);
+                statement.executeUpdate();
+            }
+            try (var statement = connection.createStatement()) {
+                statement.execute(ADD_UNIQUE_KEY.formatted(table, rows));
+                statement.execute(ANALYZE.formatted(table));
+            }
+        }
+        if (SEQUENTIAL_SCAN.equals(lookup)) {
+            try (var statement = connection.createStatement()) {
+                statement.execute(DISABLE_INDEX_SCANS);
+            }
+        }
+        findPayment = connection.prepareStatement(FIND_PAYMENT.formatted(table));
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+        findPayment.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public String findByOrderIdAndTransactionId() throws SQLException {
+        var n = ThreadLocalRandom.current().nextLong(1, rows + 1L);
+        findPayment.setString(1, "%024x".formatted(n));
+        findPayment.setString(2, HexFormat.of().formatHex(md5.digest(Long.toString(n).getBytes(StandardCharsets.US_ASCII))));
+        try (var result = findPayment.executeQuery()) {
+            if (!result.next()) {
+                throw new IllegalStateException("Payment " + n + " not found");
+            }
+            return result.getString(2);
+        }
+    }
+
+    private long countRows(String table) throws SQLException {
+        try (var statement = connection.createStatement();
+             var result = statement.executeQuery(COUNT_ROWS.formatted(table))) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        var url = String.format(DATABASE_URL, getEnv("DB_HOST", "localhost"), getEnv("DB_PORT", "5433"), getEnv("DB_NAME", "payment-db"));
+        return DriverManager.getConnection(url, getEnv("DB_USER", "postgres"), getEnv("DB_PASSWORD", "postgres"));
+    }
+
+    private static String getEnv(String name, String defaultValue) {
+        return Optional
+                .ofNullable(System.getenv(name))
+                .orElse(defaultValue);
+    }
+}
@@ -0,0 +1,56 @@
+package com.microservices.orchestration.core.service;
+
+import com.microservices.orchestration.commons.dto.OrderProducts;
+import com.microservices.orchestration.commons.dto.Product;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaymentTotalsBenchmark {
+
+    private static final Double REDUCE_SUM_VALUE = 0.0;
+
+    @Param({ "10", "1000" })
+    public int productsPerOrder;
+
+    private List<OrderProducts> products;
+
+    @Setup
+    public void createOrder() {
+        products = new ArrayList<>(productsPerOrder);
+        for (var i = 0; i < productsPerOrder; i++) {
+            products.add(new OrderProducts(new Product("PRODUCT_" + i, 99L + i * 7L), 1 + i % 5));
+        }
+    }
+
+    @Benchmark
+    public void boxedStreams(Blackhole blackhole) {
+        blackhole.consume(products
+                .stream()
+                .map(product -> product.getQuantity() * (product.getProduct().getUnitValueInCents() / 100.0))
+                .reduce(REDUCE_SUM_VALUE, Double::sum));
+        blackhole.consume(products
+                .stream()
+                .map(OrderProducts::getQuantity)
+                .reduce(REDUCE_SUM_VALUE.intValue(), Integer::sum));
+    }
+
+    @Benchmark
+    public void singlePassCents(Blackhole blackhole) {
+        var totalAmountInCents = 0L;
+        var totalItems = 0;
+        for (var i = 0; i < products.size(); i++) {
+            var product = products.get(i);
+            totalAmountInCents = Math.addExact(totalAmountInCents, Math.multiplyExact(product.getProduct().getUnitValueInCents(), product.getQuantity()));
+            totalItems += product.getQuantity();
+        }
+        blackhole.consume(totalAmountInCents);
+        blackhole.consume(totalItems);
+    }
+}
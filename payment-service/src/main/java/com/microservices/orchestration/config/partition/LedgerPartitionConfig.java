@@ -0,0 +1,20 @@
+package com.microservices.orchestration.config.partition;
+
+import com.microservices.orchestration.commons.partition.LedgerPartitionMaintainer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class LedgerPartitionConfig {
+
+    @Bean
+    public LedgerPartitionMaintainer ledgerPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                                               @Value("${ledger.partitions.table}") String table,
+                                                               @Value("${ledger.partitions.months-ahead}") int monthsAhead,
+                                                               @Value("${ledger.partitions.retention-months}") int retentionMonths,
+                                                               @Value("${ledger.partitions.archive-retention-months}") int archiveRetentionMonths) {
+        return new LedgerPartitionMaintainer(jdbcTemplate, table, monthsAhead, retentionMonths, archiveRetentionMonths);
+    }
+}
@@ -1,37 +1,66 @@
 package com.microservices.orchestration.core.consumer;
 
+import com.microservices.orchestration.commons.dto.Event;
 import com.microservices.orchestration.core.service.PaymentService;
-import com.microservices.orchestration.core.utils.JsonUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Objects;
+
+import static com.microservices.orchestration.commons.kafka.DeserializationFailures.rejectFailure;
+import static com.microservices.orchestration.commons.kafka.DeserializationFailures.valuesBeforeFailure;
+import static com.microservices.orchestration.commons.kafka.SendAcknowledgments.acknowledgeWhenSent;
+
 @Slf4j
 @Component
 @AllArgsConstructor
 public class PaymentConsumer {
 
     private final PaymentService paymentService;
-    private final JsonUtil jsonUtil;
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.payment-success}"
+            topics = "${spring.kafka.topic.payment-success}",
+            concurrency = "${spring.kafka.partitions.payment-success:${spring.kafka.listener.concurrency}}",
+            autoStartup = "#{!${spring.kafka.listener.batch}}"
+    )
+    public void consumeSuccessEvent(Event event, Acknowledgment acknowledgment) {
+        log.info("Received Success Event: {}", event);
+        acknowledgeWhenSent(paymentService.realizePayment(event), acknowledgment);
+    }
+
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}",
+            topics = "${spring.kafka.topic.payment-success}",
+            concurrency = "${spring.kafka.partitions.payment-success:${spring.kafka.listener.concurrency}}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${spring.kafka.listener.batch}"
     )
-    public void consumeSuccessEvent(String payload) {
-        log.info("Received Success Event: {}", payload);
-        var event = jsonUtil.toEvent(payload);
-        paymentService.realizePayment(event);
+    public void consumeSuccessEvents(List<ConsumerRecord<String, Event>> records, Acknowledgment acknowledgment) {
+        log.info("Received {} Success Events", records.size());
+        var validEvents = valuesBeforeFailure(records)
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+        paymentService
+                .realizePayments(validEvents)
+                .join();
+        rejectFailure(records);
+        acknowledgment.acknowledge();
     }
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.payment-fail}"
+            topics = "${spring.kafka.topic.payment-fail}",
+            concurrency = "${spring.kafka.partitions.payment-fail:${spring.kafka.listener.concurrency}}"
     )
-    public void consumeFailEvent(String payload) {
-        log.info("Received Rollback Event: {}", payload);
-        var event = jsonUtil.toEvent(payload);
-        paymentService.realizeRefund(event);
+    public void consumeFailEvent(Event event, Acknowledgment acknowledgment) {
+        log.info("Received Rollback Event: {}", event);
+        acknowledgeWhenSent(paymentService.realizeRefund(event), acknowledgment);
     }
 }
@@ -1,7 +0,0 @@
-package com.microservices.orchestration.core.enums;
-
-public enum ESagaStatus {
-    SUCCESS,
-    ROLLBACK_PENDING,
-    FAIL
-}
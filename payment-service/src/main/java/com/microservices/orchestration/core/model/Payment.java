@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.PartitionKey;
+import org.springframework.util.ObjectUtils;
 
 import java.time.LocalDateTime;
 
@@ -14,7 +16,7 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "payment")
+@Table(name = "payment", uniqueConstraints = @UniqueConstraint(name = "uk_payment_order_transaction_created", columnNames = { "order_id", "transaction_id", "created_at" }))
 public class Payment {
 
     @Id
@@ -31,12 +33,13 @@ public class Payment {
     private int totalItems;
 
     @Column(nullable = false)
-    private double totalAmount;
+    private long totalAmountInCents;
 
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
     private EPaymentStatus status;
 
+    @PartitionKey
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -46,9 +49,13 @@ public class Payment {
     @PrePersist
     public void prePersist() {
         var now = LocalDateTime.now();
-        createdAt = now;
+        if (ObjectUtils.isEmpty(createdAt)) {
+            createdAt = now;
+        }
         updatedAt = now;
-        status = EPaymentStatus.PENDING;
+        if (ObjectUtils.isEmpty(status)) {
+            status = EPaymentStatus.PENDING;
+        }
     }
 
     @PreUpdate
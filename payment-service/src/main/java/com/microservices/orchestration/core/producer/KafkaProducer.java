@@ -1,27 +1,34 @@
 package com.microservices.orchestration.core.producer;
 
+import com.microservices.orchestration.commons.dto.Event;
+import com.microservices.orchestration.commons.kafka.BoundedKafkaSender;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class KafkaProducer {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final BoundedKafkaSender<String, Event> kafkaSender;
 
     @Value("${spring.kafka.topic.orchestrator}")
     private String orchestratorTopic;
 
-    public void sendEvent(String payload) {
+    public CompletableFuture<Void> sendEvent(String orderId, Event event) {
+        log.info("Sending event to topic {} with key {} and data {}", orchestratorTopic, orderId, event);
+        return kafkaSender.send(orchestratorTopic, orderId, event);
+    }
+
+    public void flush() {
         try {
-            log.info("Sending event to topic {} with data {}", orchestratorTopic, payload);
-            kafkaTemplate.send(orchestratorTopic, payload);
+            kafkaSender.flush();
         } catch (Exception ex) {
-            log.error("Error trying to send data to topic {} with data {}", orchestratorTopic, payload, ex);
+            log.error("Error trying to flush data to topic {}", orchestratorTopic, ex);
         }
     }
 }
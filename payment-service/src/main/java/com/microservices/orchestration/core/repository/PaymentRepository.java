@@ -2,11 +2,29 @@ package com.microservices.orchestration.core.repository;
 
 import com.microservices.orchestration.core.model.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface PaymentRepository extends JpaRepository<Payment, Integer> {
 
-    Boolean existsByOrderIdAndTransactionId(String orderId, String transactionId);
-    Optional<Payment> findByOrderIdAndTransactionId(String orderId, String transactionId);
+    Optional<Payment> findByOrderIdAndTransactionIdAndCreatedAt(String orderId, String transactionId, LocalDateTime createdAt);
+
+    @Transactional
+    @Query(value = """
+            INSERT INTO payment (order_id, transaction_id, total_items, total_amount_in_cents, status, created_at, updated_at)
+            SELECT t.order_id, t.transaction_id, t.total_items, t.total_amount_in_cents, t.status, t.created_at, LOCALTIMESTAMP
+            FROM unnest(:orderIds, :transactionIds, :totalItems, :totalAmountsInCents, :statuses, :createdAts) AS t(order_id, transaction_id, total_items, total_amount_in_cents, status, created_at)
+            ON CONFLICT (order_id, transaction_id, created_at) DO NOTHING
+            RETURNING order_id AS orderId, transaction_id AS transactionId
+            """, nativeQuery = true)
+    List<PaymentTransaction> insertPayments(String[] orderIds,
+                                            String[] transactionIds,
+                                            Integer[] totalItems,
+                                            Long[] totalAmountsInCents,
+                                            String[] statuses,
+                                            LocalDateTime[] createdAts);
 }
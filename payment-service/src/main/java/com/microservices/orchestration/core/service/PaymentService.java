@@ -1,103 +1,170 @@
 package com.microservices.orchestration.core.service;
 
+import com.microservices.orchestration.commons.dto.Event;
+import com.microservices.orchestration.commons.dto.History;
+import com.microservices.orchestration.commons.enums.EEventSource;
+import com.microservices.orchestration.commons.enums.ESagaStatus;
 import com.microservices.orchestration.config.exception.ValidationException;
-import com.microservices.orchestration.core.dto.Event;
-import com.microservices.orchestration.core.dto.History;
-import com.microservices.orchestration.core.dto.OrderProducts;
 import com.microservices.orchestration.core.enums.EPaymentStatus;
-import com.microservices.orchestration.core.enums.ESagaStatus;
 import com.microservices.orchestration.core.model.Payment;
 import com.microservices.orchestration.core.producer.KafkaProducer;
 import com.microservices.orchestration.core.repository.PaymentRepository;
-import com.microservices.orchestration.core.utils.JsonUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @AllArgsConstructor
 public class PaymentService {
 
-    private static final String CURRENT_SOURCE = "PAYMENT_SERVICE";
-    private static final Double REDUCE_SUM_VALUE = 0.0;
-    private static final Double MIN_AMOUNT_VALUE = 0.1;
+    private static final EEventSource CURRENT_SOURCE = EEventSource.PAYMENT_SERVICE;
+    private static final long MIN_AMOUNT_IN_CENTS = 10;
 
-    private final JsonUtil jsonUtil;
     private final KafkaProducer kafkaProducer;
     private final PaymentRepository paymentRepository;
 
-    public void realizePayment(Event event) {
+    public CompletableFuture<Void> realizePayment(Event event) {
         try {
-            checkCurrentValidation(event);
-            createPendingPayment(event);
-            var payment = findByOrderIdAndTransactionId(event);
-            validateAmount(payment.getTotalAmount());
-            changePaymentToSuccess(payment);
-            handleSuccess(event);
+            var payment = buildPayment(event);
+            setEventAmountItems(event, payment);
+            validateAmount(payment.getTotalAmountInCents());
+            payment.setStatus(EPaymentStatus.SUCCESS);
+            if (insertPayments(List.of(payment)).isEmpty()) {
+                handleProcessedPayment(event);
+            } else {
+                handleSuccess(event);
+            }
         } catch (Exception ex) {
             log.error("Error while realizing payment", ex);
             handleFailCurrentNotExecuted(event, ex.getMessage());
         }
-        kafkaProducer.sendEvent(jsonUtil.toJson(event));
+        return kafkaProducer.sendEvent(event.getOrderId(), event);
     }
 
-    private void checkCurrentValidation(Event event) {
-        if (paymentRepository.existsByOrderIdAndTransactionId(event.getPayload().getId(), event.getPayload().getTransactionId())) {
-            throw new ValidationException("OrderId and transactionId is already in use!");
+    public CompletableFuture<Void> realizePayments(List<Event> events) {
+        var batchPayments = new HashSet<PaymentKey>();
+        var payments = new ArrayList<Payment>();
+        var validatedEvents = new ArrayList<Event>();
+        events.forEach(event -> {
+            try {
+                var payment = buildPayment(event);
+                setEventAmountItems(event, payment);
+                validateAmount(payment.getTotalAmountInCents());
+                payment.setStatus(EPaymentStatus.SUCCESS);
+                if (batchPayments.add(toPaymentKey(event))) {
+                    payments.add(payment);
+                }
+                validatedEvents.add(event);
+            } catch (Exception ex) {
+                log.error("Error while realizing payment", ex);
+                handleFailCurrentNotExecuted(event, ex.getMessage());
+            }
+        });
+        try {
+            var insertedPayments = insertPayments(payments);
+            validatedEvents.forEach(event -> {
+                if (insertedPayments.remove(toPaymentKey(event))) {
+                    handleSuccess(event);
+                    return;
+                }
+                try {
+                    handleProcessedPayment(event);
+                } catch (Exception ex) {
+                    log.error("Error while realizing payment", ex);
+                    handleFailCurrentNotExecuted(event, ex.getMessage());
+                }
+            });
+        } catch (Exception ex) {
+            log.error("Error while saving payments", ex);
+            validatedEvents.forEach(event -> handleFailCurrentNotExecuted(event, ex.getMessage()));
+        }
+        var sends = events
+                .stream()
+                .map(event -> kafkaProducer.sendEvent(event.getOrderId(), event))
+                .toArray(CompletableFuture[]::new);
+        kafkaProducer.flush();
+        return CompletableFuture.allOf(sends);
+    }
+
+    private Set<PaymentKey> insertPayments(List<Payment> payments) {
+        if (payments.isEmpty()) {
+            return new HashSet<>();
+        }
+        return paymentRepository
+                .insertPayments(
+                    payments.stream().map(Payment::getOrderId).toArray(String[]::new),
+                    payments.stream().map(Payment::getTransactionId).toArray(String[]::new),
+                    payments.stream().map(Payment::getTotalItems).toArray(Integer[]::new),
+                    payments.stream().map(Payment::getTotalAmountInCents).toArray(Long[]::new),
+                    payments.stream().map(payment -> payment.getStatus().name()).toArray(String[]::new),
+                    payments.stream().map(Payment::getCreatedAt).toArray(LocalDateTime[]::new))
+                .stream()
+                .map(payment -> new PaymentKey(payment.getOrderId(), payment.getTransactionId()))
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private PaymentKey toPaymentKey(Event event) {
+        return new PaymentKey(event.getPayload().getId(), event.getPayload().getTransactionId());
+    }
+
+    private void handleProcessedPayment(Event event) {
+        var payment = paymentRepository
+                .findByOrderIdAndTransactionIdAndCreatedAt(event.getPayload().getId(), event.getPayload().getTransactionId(), event.sagaCreatedAt())
+                .orElseThrow(() -> new ValidationException("OrderId and transactionId is already in use!"));
+        setEventAmountItems(event, payment);
+        event.setSource(CURRENT_SOURCE);
+        if (EPaymentStatus.REFUND.equals(payment.getStatus())) {
+            event.setStatus(ESagaStatus.FAIL);
+            addHistory(event, "Payment was already refunded!");
+        } else {
+            event.setStatus(ESagaStatus.SUCCESS);
+            addHistory(event, "Payment was already realized!");
         }
     }
 
-    private void createPendingPayment(Event event) {
-        var totalAmount = calculateTotalAmount(event);
-        var totalItems = calculateTotalItems(event);
-        var payment = Payment
+    private Payment buildPayment(Event event) {
+        var products = event.getPayload().getProducts();
+        var totalAmountInCents = 0L;
+        var totalItems = 0;
+        for (var i = 0; i < products.size(); i++) {
+            var product = products.get(i);
+            if (product.getProduct().getUnitValueInCents() <= 0) {
+                throw new ValidationException("Product unit value must be greater than zero!");
+            }
+            totalAmountInCents = Math.addExact(totalAmountInCents, Math.multiplyExact(product.getProduct().getUnitValueInCents(), product.getQuantity()));
+            totalItems += product.getQuantity();
+        }
+        return Payment
             .builder()
             .orderId(event.getPayload().getId())
             .transactionId(event.getPayload().getTransactionId())
-            .totalAmount(totalAmount)
+            .totalAmountInCents(totalAmountInCents)
             .totalItems(totalItems)
+            .createdAt(event.sagaCreatedAt())
             .build();
-        save(payment);
-        setEventAmountItems(event, payment);
-    }
-
-    private double calculateTotalAmount(Event event) {
-        return event
-                .getPayload()
-                .getProducts()
-                .stream()
-                .map(product -> product.getQuantity() * product.getProduct().getUnitValue())
-                .reduce(REDUCE_SUM_VALUE, Double::sum);
-    }
-
-    private int calculateTotalItems(Event event) {
-        return event
-                .getPayload()
-                .getProducts()
-                .stream()
-                .map(OrderProducts::getQuantity)
-                .reduce(REDUCE_SUM_VALUE.intValue(), Integer::sum);
     }
 
     private void setEventAmountItems(Event event, Payment payment) {
-        event.getPayload().setTotalAmount(payment.getTotalAmount());
+        event.getPayload().setTotalAmountInCents(payment.getTotalAmountInCents());
         event.getPayload().setTotalItems(payment.getTotalItems());
     }
 
-    private void validateAmount(double amount) {
-        if (amount < MIN_AMOUNT_VALUE) {
-            throw new ValidationException("The minimum amount available is ".concat(MIN_AMOUNT_VALUE.toString()));
+    private void validateAmount(long amountInCents) {
+        if (amountInCents < MIN_AMOUNT_IN_CENTS) {
+            throw new ValidationException("The minimum amount available is ".concat(BigDecimal.valueOf(MIN_AMOUNT_IN_CENTS, 2).toPlainString()));
         }
     }
 
-    private void changePaymentToSuccess(Payment payment) {
-        payment.setStatus(EPaymentStatus.SUCCESS);
-        save(payment);
-    }
-
     private void handleSuccess(Event event) {
         event.setStatus(ESagaStatus.SUCCESS);
         event.setSource(CURRENT_SOURCE);
@@ -121,7 +188,7 @@ public class PaymentService {
         addHistory(event, "Fail to realize payment: ".concat(message));
     }
 
-    public void realizeRefund(Event event) {
+    public CompletableFuture<Void> realizeRefund(Event event) {
         event.setStatus(ESagaStatus.FAIL);
         event.setSource(CURRENT_SOURCE);
         try {
@@ -130,23 +197,22 @@ public class PaymentService {
         } catch (Exception ex) {
             addHistory(event, "Rollback not executed for payment: ".concat(ex.getMessage()));
         }
-        kafkaProducer.sendEvent(jsonUtil.toJson(event));
+        return kafkaProducer.sendEvent(event.getOrderId(), event);
     }
 
     private void changePaymentStatusToRefund(Event event) {
-        var payment = findByOrderIdAndTransactionId(event);
+        var payment = paymentRepository
+                .findByOrderIdAndTransactionIdAndCreatedAt(event.getPayload().getId(), event.getTransactionId(), event.sagaCreatedAt())
+                .orElseGet(() -> buildPayment(event));
         payment.setStatus(EPaymentStatus.REFUND);
         setEventAmountItems(event, payment);
         save(payment);
     }
 
-    private Payment findByOrderIdAndTransactionId(Event event) {
-        return paymentRepository
-                .findByOrderIdAndTransactionId(event.getPayload().getId(), event.getTransactionId())
-                .orElseThrow(() -> new ValidationException("Payment not found by OrderId and transactionId"));
-    }
-
     private void save(Payment payment) {
         paymentRepository.save(payment);
     }
+
+    private record PaymentKey(String orderId, String transactionId) {
+    }
 }
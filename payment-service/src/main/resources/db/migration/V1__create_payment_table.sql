@@ -0,0 +1,11 @@
+CREATE TABLE payment (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id VARCHAR(255) NOT NULL,
+    transaction_id VARCHAR(255) NOT NULL,
+    total_items INTEGER NOT NULL,
+    total_amount_in_cents BIGINT NOT NULL,
+    status VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'SUCCESS', 'REFUND')),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_payment_order_transaction UNIQUE (order_id, transaction_id)
+);
@@ -0,0 +1,34 @@
+ALTER TABLE payment RENAME TO payment_unpartitioned;
+
+CREATE SEQUENCE payment_seq;
+
+CREATE TABLE payment (
+    id INTEGER NOT NULL DEFAULT nextval('payment_seq'),
+    order_id VARCHAR(255) NOT NULL,
+    transaction_id VARCHAR(255) NOT NULL,
+    total_items INTEGER NOT NULL,
+    total_amount_in_cents BIGINT NOT NULL,
+    status VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'SUCCESS', 'REFUND')),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_payment PRIMARY KEY (id, created_at),
+    CONSTRAINT uk_payment_order_transaction_created UNIQUE (order_id, transaction_id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE payment_seq OWNED BY payment.id;
+
+CREATE TABLE payment_default PARTITION OF payment DEFAULT;
+
+SELECT create_ledger_partition('payment', month::DATE)
+FROM (SELECT DISTINCT date_trunc('month', created_at) AS month FROM payment_unpartitioned) months;
+
+SELECT create_ledger_partition('payment', (date_trunc('month', LOCALTIMESTAMP) + make_interval(months => ahead))::DATE)
+FROM generate_series(0, 2) ahead;
+
+INSERT INTO payment (id, order_id, transaction_id, total_items, total_amount_in_cents, status, created_at, updated_at)
+SELECT id, order_id, transaction_id, total_items, total_amount_in_cents, status, created_at, updated_at
+FROM payment_unpartitioned;
+
+SELECT setval('payment_seq', COALESCE((SELECT MAX(id) FROM payment), 0) + 1, false);
+
+DROP TABLE payment_unpartitioned;
@@ -0,0 +1,152 @@
+package com.microservices.orchestration.core.service;
+
+import com.microservices.orchestration.commons.dto.Event;
+import com.microservices.orchestration.commons.dto.Order;
+import com.microservices.orchestration.commons.dto.OrderProducts;
+import com.microservices.orchestration.commons.dto.Product;
+import com.microservices.orchestration.commons.enums.EEventSource;
+import com.microservices.orchestration.commons.enums.ESagaStatus;
+import com.microservices.orchestration.core.enums.EPaymentStatus;
+import com.microservices.orchestration.core.model.Payment;
+import com.microservices.orchestration.core.producer.KafkaProducer;
+import com.microservices.orchestration.core.repository.PaymentRepository;
+import com.microservices.orchestration.core.repository.PaymentTransaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PaymentServiceTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 10, 1, 12, 0);
+
+    private final KafkaProducer kafkaProducer = mock(KafkaProducer.class);
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final Map<String, Payment> storedPayments = new HashMap<>();
+    private final PaymentService paymentService = new PaymentService(kafkaProducer, paymentRepository);
+
+    @BeforeEach
+    void emulatePaymentTable() {
+        when(kafkaProducer.sendEvent(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(paymentRepository.insertPayments(any(), any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            String[] orderIds = invocation.getArgument(0);
+            String[] transactionIds = invocation.getArgument(1);
+            Integer[] totalItems = invocation.getArgument(2);
+            Long[] totalAmountsInCents = invocation.getArgument(3);
+            String[] statuses = invocation.getArgument(4);
+            LocalDateTime[] createdAts = invocation.getArgument(5);
+            var inserted = new ArrayList<PaymentTransaction>();
+            for (var i = 0; i < orderIds.length; i++) {
+                var payment = Payment
+                        .builder()
+                        .orderId(orderIds[i])
+                        .transactionId(transactionIds[i])
+                        .totalItems(totalItems[i])
+                        .totalAmountInCents(totalAmountsInCents[i])
+                        .status(EPaymentStatus.valueOf(statuses[i]))
+                        .createdAt(createdAts[i])
+                        .build();
+                if (storedPayments.putIfAbsent(key(orderIds[i], transactionIds[i], createdAts[i]), payment) == null) {
+                    inserted.add(transaction(orderIds[i], transactionIds[i]));
+                }
+            }
+            return inserted;
+        });
+        when(paymentRepository.findByOrderIdAndTransactionIdAndCreatedAt(any(), any(), any())).thenAnswer(invocation ->
+                Optional.ofNullable(storedPayments.get(key(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)))));
+    }
+
+    @Test
+    void repliesTheStoredSuccessWhenTheSamePaymentIsDeliveredTwice() {
+        var first = buildEvent();
+        var redelivered = buildEvent();
+
+        paymentService.realizePayment(first);
+        paymentService.realizePayment(redelivered);
+
+        assertThat(first.getStatus()).isEqualTo(ESagaStatus.SUCCESS);
+        assertThat(redelivered.getStatus()).isEqualTo(ESagaStatus.SUCCESS);
+        assertThat(redelivered.getSource()).isEqualTo(EEventSource.PAYMENT_SERVICE);
+        assertThat(redelivered.getPayload().getTotalAmountInCents()).isEqualTo(2_500);
+        assertThat(redelivered.getPayload().getTotalItems()).isEqualTo(2);
+        assertThat(storedPayments).hasSize(1);
+        verify(paymentRepository, never()).save(any());
+    }
+
+    @Test
+    void repliesTheStoredSuccessForEveryCopyOfAPaymentInOneBatch() {
+        var first = buildEvent();
+        var duplicated = buildEvent();
+
+        paymentService.realizePayments(List.of(first, duplicated));
+        var redelivered = buildEvent();
+        paymentService.realizePayments(List.of(redelivered));
+
+        assertThat(List.of(first, duplicated, redelivered))
+                .extracting(Event::getStatus)
+                .containsOnly(ESagaStatus.SUCCESS);
+        assertThat(storedPayments).hasSize(1);
+        verify(paymentRepository, never()).save(any());
+    }
+
+    @Test
+    void repliesFailWhenARedeliveredPaymentWasAlreadyRefunded() {
+        paymentService.realizePayment(buildEvent());
+        storedPayments.values().forEach(payment -> payment.setStatus(EPaymentStatus.REFUND));
+        var redelivered = buildEvent();
+
+        paymentService.realizePayment(redelivered);
+
+        assertThat(redelivered.getStatus()).isEqualTo(ESagaStatus.FAIL);
+        assertThat(redelivered.getPayload().getTotalAmountInCents()).isEqualTo(2_500);
+        verify(paymentRepository, never()).save(any());
+    }
+
+    private Event buildEvent() {
+        var order = Order
+                .builder()
+                .id("order-1")
+                .transactionId("transaction-1")
+                .createdAt(CREATED_AT)
+                .products(List.of(new OrderProducts(new Product("BOOKS", 1_250), 2)))
+                .build();
+        return Event
+                .builder()
+                .id("event-1")
+                .orderId("order-1")
+                .transactionId("transaction-1")
+                .payload(order)
+                .source(EEventSource.ORCHESTRATOR)
+                .status(ESagaStatus.SUCCESS)
+                .build();
+    }
+
+    private static String key(String orderId, String transactionId, LocalDateTime createdAt) {
+        return orderId + ":" + transactionId + ":" + createdAt;
+    }
+
+    private static PaymentTransaction transaction(String orderId, String transactionId) {
+        return new PaymentTransaction() {
+
+            @Override
+            public String getOrderId() {
+                return orderId;
+            }
+
+            @Override
+            public String getTransactionId() {
+                return transactionId;
+            }
+        };
+    }
+}
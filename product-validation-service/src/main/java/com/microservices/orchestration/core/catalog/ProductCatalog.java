@@ -0,0 +1,147 @@
+package com.microservices.orchestration.core.catalog;
+
+import com.microservices.orchestration.core.repository.ProductCatalogVersion;
+import com.microservices.orchestration.core.repository.ProductRepository;
+import com.microservices.orchestration.core.utils.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Component
+public class ProductCatalog {
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(null, Set.of(), System.currentTimeMillis()));
+    private final AtomicReference<UnknownCodes> unknownCodes = new AtomicReference<>();
+    private final ProductRepository productRepository;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter unknowns;
+    private final int expectedUnknownCodes;
+    private final double falsePositiveRate;
+
+    public ProductCatalog(ProductRepository productRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${product.catalog.unknown-codes.expected}") int expectedUnknownCodes,
+                          @Value("${product.catalog.unknown-codes.false-positive-rate}") double falsePositiveRate) {
+        this.productRepository = productRepository;
+        this.expectedUnknownCodes = expectedUnknownCodes;
+        this.falsePositiveRate = falsePositiveRate;
+        this.unknownCodes.set(new UnknownCodes(newUnknownCodesFilter(), newUnknownCodesFilter()));
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.unknowns = lookupCounter(meterRegistry, "unknown");
+        Gauge
+                .builder("product.catalog.products", snapshot, current -> current.get().codes().size())
+                .description("Product codes held in the catalog cache")
+                .register(meterRegistry);
+        Gauge
+                .builder("product.catalog.staleness", snapshot, current -> (System.currentTimeMillis() - current.get().checkedAtMs()) / 1000.0)
+                .description("Seconds since the catalog cache was last checked against the database")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge
+                .builder("product.catalog.unknown.codes", unknownCodes, current -> current.get().insertions())
+                .description("Unknown product codes held in the negative cache")
+                .register(meterRegistry);
+        Gauge
+                .builder("product.catalog.unknown.false.positive.rate", unknownCodes, current -> current.get().falsePositiveRate())
+                .description("Estimated rate of codes wrongly taken as unknown by the negative cache")
+                .register(meterRegistry);
+        Gauge
+                .builder("product.catalog.unknown.memory", unknownCodes, current -> current.get().memoryBytes())
+                .description("Memory used by the negative cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void refresh() {
+        var current = snapshot.get();
+        var version = productRepository.findCatalogVersion();
+        if (version.equals(current.version())) {
+            snapshot.set(new Snapshot(version, current.codes(), System.currentTimeMillis()));
+            return;
+        }
+        var codes = Set.copyOf(productRepository.findAllCodes());
+        snapshot.set(new Snapshot(version, codes, System.currentTimeMillis()));
+        unknownCodes.set(new UnknownCodes(newUnknownCodesFilter(), newUnknownCodesFilter()));
+        log.info("Loaded {} products into the catalog cache and cleared the negative cache", codes.size());
+    }
+
+    public Set<String> findExisting(Collection<String> codes) {
+        var cachedCodes = snapshot.get().codes();
+        var unknown = unknownCodes.get();
+        var existingCodes = new HashSet<String>();
+        var missingCodes = new HashSet<String>();
+        codes.forEach(code -> {
+            if (cachedCodes.contains(code)) {
+                existingCodes.add(code);
+            } else if (unknown.mightContain(code)) {
+                unknowns.increment();
+            } else {
+                missingCodes.add(code);
+            }
+        });
+        hits.increment(existingCodes.size());
+        misses.increment(missingCodes.size());
+        if (!missingCodes.isEmpty()) {
+            var foundCodes = productRepository.findCodesByCodeIn(missingCodes.toArray(String[]::new));
+            existingCodes.addAll(foundCodes);
+            missingCodes.removeAll(foundCodes);
+            rememberUnknown(unknown, missingCodes);
+        }
+        return existingCodes;
+    }
+
+    private void rememberUnknown(UnknownCodes unknown, Set<String> codes) {
+        codes.forEach(unknown.current()::put);
+        if (unknown.current().getFalsePositiveRate() >= falsePositiveRate
+                && unknownCodes.compareAndSet(unknown, new UnknownCodes(newUnknownCodesFilter(), unknown.current()))) {
+            log.info("Negative cache reached {} unknown product codes and was rotated", unknown.current().getInsertions());
+        }
+    }
+
+    private BloomFilter newUnknownCodesFilter() {
+        return new BloomFilter(expectedUnknownCodes, falsePositiveRate);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter
+                .builder("product.catalog.lookups")
+                .description("Product codes looked up in the catalog cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Snapshot(ProductCatalogVersion version, Set<String> codes, long checkedAtMs) {
+    }
+
+    private record UnknownCodes(BloomFilter current, BloomFilter previous) {
+
+        boolean mightContain(String code) {
+            return current.mightContain(code) || previous.mightContain(code);
+        }
+
+        int insertions() {
+            return current.getInsertions() + previous.getInsertions();
+        }
+
+        double falsePositiveRate() {
+            return 1 - (1 - current.getFalsePositiveRate()) * (1 - previous.getFalsePositiveRate());
+        }
+
+        long memoryBytes() {
+            return current.getMemoryBytes() + previous.getMemoryBytes();
+        }
+    }
+}
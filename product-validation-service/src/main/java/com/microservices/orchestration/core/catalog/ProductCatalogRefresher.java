@@ -0,0 +1,23 @@
+package com.microservices.orchestration.core.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+public class ProductCatalogRefresher {
+
+    private final ProductCatalog productCatalog;
+
+    @Scheduled(initialDelayString = "${product.catalog.refresh-interval}", fixedDelayString = "${product.catalog.refresh-interval}")
+    public void refresh() {
+        try {
+            productCatalog.refresh();
+        } catch (Exception ex) {
+            log.error("Error trying to refresh the product catalog: ", ex);
+        }
+    }
+}
@@ -1,37 +1,66 @@
 package com.microservices.orchestration.core.consumer;
 
+import com.microservices.orchestration.commons.dto.Event;
 import com.microservices.orchestration.core.service.ProductValidationService;
-import com.microservices.orchestration.core.utils.JsonUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Objects;
+
+import static com.microservices.orchestration.commons.kafka.DeserializationFailures.rejectFailure;
+import static com.microservices.orchestration.commons.kafka.DeserializationFailures.valuesBeforeFailure;
+import static com.microservices.orchestration.commons.kafka.SendAcknowledgments.acknowledgeWhenSent;
+
 @Slf4j
 @Component
 @AllArgsConstructor
 public class ProductValidationConsumer {
 
     private final ProductValidationService productValidationService;
-    private final JsonUtil jsonUtil;
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.product-validation-success}"
+            topics = "${spring.kafka.topic.product-validation-success}",
+            concurrency = "${spring.kafka.partitions.product-validation-success:${spring.kafka.listener.concurrency}}",
+            autoStartup = "#{!${spring.kafka.listener.batch}}"
+    )
+    public void consumeSuccessEvent(Event event, Acknowledgment acknowledgment) {
+        log.info("Received Success Event: {}", event);
+        acknowledgeWhenSent(productValidationService.validateExistingProducts(event), acknowledgment);
+    }
+
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}",
+            topics = "${spring.kafka.topic.product-validation-success}",
+            concurrency = "${spring.kafka.partitions.product-validation-success:${spring.kafka.listener.concurrency}}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${spring.kafka.listener.batch}"
     )
-    public void consumeSuccessEvent(String payload) {
-        log.info("Received Success Event: {}", payload);
-        var event = jsonUtil.toEvent(payload);
-        productValidationService.validateExistingProducts(event);
+    public void consumeSuccessEvents(List<ConsumerRecord<String, Event>> records, Acknowledgment acknowledgment) {
+        log.info("Received {} Success Events", records.size());
+        var validEvents = valuesBeforeFailure(records)
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+        productValidationService
+                .validateExistingProducts(validEvents)
+                .join();
+        rejectFailure(records);
+        acknowledgment.acknowledge();
     }
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.product-validation-fail}"
+            topics = "${spring.kafka.topic.product-validation-fail}",
+            concurrency = "${spring.kafka.partitions.product-validation-fail:${spring.kafka.listener.concurrency}}"
     )
-    public void consumeFailEvent(String payload) {
-        log.info("Received Rollback Event: {}", payload);
-        var event = jsonUtil.toEvent(payload);
-        productValidationService.rollbackEvent(event);
+    public void consumeFailEvent(Event event, Acknowledgment acknowledgment) {
+        log.info("Received Rollback Event: {}", event);
+        acknowledgeWhenSent(productValidationService.rollbackEvent(event), acknowledgment);
     }
 }
@@ -1,14 +0,0 @@
-package com.microservices.orchestration.core.dto;
-
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class Product {
-
-    private String code;
-    private double unitValue;
-}
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.PartitionKey;
+import org.springframework.util.ObjectUtils;
 
 import java.time.LocalDateTime;
 
@@ -13,11 +15,11 @@ import java.time.LocalDateTime;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "validation")
+@Table(name = "validation", uniqueConstraints = @UniqueConstraint(name = "uk_validation_transaction_order_created", columnNames = { "transaction_id", "order_id", "created_at" }))
 public class Validation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Integer id;
 
     @Column(nullable = false)
@@ -29,6 +31,7 @@ public class Validation {
     @Column(nullable = false)
     private boolean success;
 
+    @PartitionKey
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -38,7 +41,9 @@ public class Validation {
     @PrePersist
     public void prePersist() {
         var now = LocalDateTime.now();
-        createdAt = now;
+        if (ObjectUtils.isEmpty(createdAt)) {
+            createdAt = now;
+        }
         updatedAt = now;
     }
 
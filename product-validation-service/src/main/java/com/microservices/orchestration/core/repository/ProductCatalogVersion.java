@@ -0,0 +1,6 @@
+package com.microservices.orchestration.core.repository;
+
+import java.time.LocalDateTime;
+
+public record ProductCatalogVersion(Long products, LocalDateTime updatedAt) {
+}
@@ -2,8 +2,19 @@ package com.microservices.orchestration.core.repository;
 
 import com.microservices.orchestration.core.model.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Set;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
 
-    Boolean existsByCode(String code);
+    @Query(value = "SELECT code FROM product WHERE code = ANY(:codes)", nativeQuery = true)
+    Set<String> findCodesByCodeIn(String[] codes);
+
+    @Query("select p.code from Product p")
+    List<String> findAllCodes();
+
+    @Query("select new com.microservices.orchestration.core.repository.ProductCatalogVersion(count(p), max(p.updatedAt)) from Product p")
+    ProductCatalogVersion findCatalogVersion();
 }
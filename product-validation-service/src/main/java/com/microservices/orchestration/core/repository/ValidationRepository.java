@@ -3,11 +3,14 @@ package com.microservices.orchestration.core.repository;
 import com.microservices.orchestration.core.model.Validation;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ValidationRepository extends JpaRepository<Validation, Integer> {
 
-    Boolean existsByOrderIdAndTransactionId(String orderId, String transactionId);
+    Optional<Validation> findByOrderIdAndTransactionIdAndCreatedAt(String orderId, String transactionId, LocalDateTime createdAt);
 
-    Optional<Validation> findByOrderIdAndTransactionId(String orderId, String transactionId);
+    List<Validation> findByTransactionIdInAndCreatedAtBetween(Collection<String> transactionIds, LocalDateTime from, LocalDateTime to);
 }
@@ -1,44 +1,152 @@
 package com.microservices.orchestration.core.service;
 
+import com.microservices.orchestration.commons.dto.Event;
+import com.microservices.orchestration.commons.dto.History;
+import com.microservices.orchestration.commons.dto.OrderProducts;
+import com.microservices.orchestration.commons.enums.EEventSource;
+import com.microservices.orchestration.commons.enums.ESagaStatus;
 import com.microservices.orchestration.config.exception.ValidationException;
-import com.microservices.orchestration.core.dto.Event;
-import com.microservices.orchestration.core.dto.History;
-import com.microservices.orchestration.core.dto.OrderProducts;
-import com.microservices.orchestration.core.enums.ESagaStatus;
+import com.microservices.orchestration.core.catalog.ProductCatalog;
 import com.microservices.orchestration.core.model.Validation;
 import com.microservices.orchestration.core.producer.KafkaProducer;
-import com.microservices.orchestration.core.repository.ProductRepository;
 import com.microservices.orchestration.core.repository.ValidationRepository;
-import com.microservices.orchestration.core.utils.JsonUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.util.ObjectUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @AllArgsConstructor
 public class ProductValidationService {
 
-    private static final String CURRENT_SOURCE = "PRODUCT_VALIDATION_SERVICE";
+    private static final EEventSource CURRENT_SOURCE = EEventSource.PRODUCT_VALIDATION_SERVICE;
 
-    private final JsonUtil jsonUtil;
     private final KafkaProducer kafkaProducer;
-    private final ProductRepository productRepository;
+    private final ProductCatalog productCatalog;
     private final ValidationRepository validationRepository;
 
-    public void validateExistingProducts(Event event) {
+    public CompletableFuture<Void> validateExistingProducts(Event event) {
         try {
-            checkCurrentValidation(event);
-            createValidation(event, true);
-            handleSuccess(event);
+            validateProductsInformed(event);
+            findProcessedValidation(event).ifPresentOrElse(
+                    validation -> handleProcessedValidation(event, validation.isSuccess()),
+                    () -> {
+                        checkCurrentValidation(event);
+                        createSuccessfulValidation(event);
+                    });
         } catch (Exception ex) {
             log.error("Error trying to validate products: ", ex);
             handleFailCurrentNotExecuted(event, ex.getMessage());
         }
-        kafkaProducer.sendEvent(jsonUtil.toJson(event));
+        return kafkaProducer.sendEvent(event.getOrderId(), event);
+    }
+
+    public CompletableFuture<Void> validateExistingProducts(List<Event> events) {
+        var processedValidations = findProcessedValidations(events);
+        var existingCodes = findExistingCodes(events);
+        var batchEvents = new HashMap<ValidationKey, Event>();
+        var duplicatedEvents = new ArrayList<Event>();
+        var validations = new ArrayList<Validation>();
+        var validatedEvents = new ArrayList<Event>();
+        events.forEach(event -> {
+            try {
+                validateProductsInformed(event);
+                var key = new ValidationKey(event.getOrderId(), event.getTransactionId());
+                if (processedValidations.containsKey(key)) {
+                    handleProcessedValidation(event, processedValidations.get(key).isSuccess());
+                    return;
+                }
+                if (batchEvents.putIfAbsent(key, event) != null) {
+                    duplicatedEvents.add(event);
+                    return;
+                }
+                checkBatchValidation(event, existingCodes);
+                validations.add(buildValidation(event, true));
+                validatedEvents.add(event);
+            } catch (Exception ex) {
+                log.error("Error trying to validate products: ", ex);
+                handleFailCurrentNotExecuted(event, ex.getMessage());
+            }
+        });
+        try {
+            validationRepository.saveAll(validations);
+            validatedEvents.forEach(this::handleSuccess);
+        } catch (DataIntegrityViolationException ex) {
+            log.warn("Validations of the batch were already saved, saving them one by one: {}", ex.getMessage());
+            validatedEvents.forEach(this::createBatchValidation);
+        } catch (Exception ex) {
+            log.error("Error trying to save validations: ", ex);
+            validatedEvents.forEach(event -> handleFailCurrentNotExecuted(event, ex.getMessage()));
+        }
+        duplicatedEvents.forEach(event -> {
+            var firstEvent = batchEvents.get(new ValidationKey(event.getOrderId(), event.getTransactionId()));
+            if (ESagaStatus.SUCCESS.equals(firstEvent.getStatus())) {
+                handleProcessedValidation(event, true);
+            } else {
+                handleFailCurrentNotExecuted(event, "OrderId and transactionId is already in use!");
+            }
+        });
+        var sends = events
+                .stream()
+                .map(event -> kafkaProducer.sendEvent(event.getOrderId(), event))
+                .toArray(CompletableFuture[]::new);
+        kafkaProducer.flush();
+        return CompletableFuture.allOf(sends);
+    }
+
+    private Map<ValidationKey, Validation> findProcessedValidations(List<Event> events) {
+        var transactionIds = events
+                .stream()
+                .map(Event::getTransactionId)
+                .filter(transactionId -> !ObjectUtils.isEmpty(transactionId))
+                .collect(Collectors.toSet());
+        var createdAts = events
+                .stream()
+                .filter(Event::hasSagaCreatedAt)
+                .map(Event::sagaCreatedAt)
+                .sorted()
+                .toList();
+        if (transactionIds.isEmpty() || createdAts.isEmpty()) {
+            return Map.of();
+        }
+        return validationRepository
+                .findByTransactionIdInAndCreatedAtBetween(transactionIds, createdAts.getFirst(), createdAts.getLast())
+                .stream()
+                .collect(Collectors.toMap(validation -> new ValidationKey(validation.getOrderId(), validation.getTransactionId()), Function.identity(), (first, second) -> first));
+    }
+
+    private Optional<Validation> findProcessedValidation(Event event) {
+        return validationRepository.findByOrderIdAndTransactionIdAndCreatedAt(event.getOrderId(), event.getTransactionId(), event.sagaCreatedAt());
+    }
+
+    private Set<String> findExistingCodes(List<Event> events) {
+        var codes = events
+                .stream()
+                .filter(event -> !ObjectUtils.isEmpty(event.getPayload()) && !ObjectUtils.isEmpty(event.getPayload().getProducts()))
+                .flatMap(event -> event.getPayload().getProducts().stream())
+                .filter(product -> !ObjectUtils.isEmpty(product.getProduct()))
+                .map(product -> product.getProduct().getCode())
+                .filter(code -> !ObjectUtils.isEmpty(code))
+                .collect(Collectors.toSet());
+        return productCatalog.findExisting(codes);
+    }
+
+    private void checkBatchValidation(Event event, Set<String> existingCodes) {
+        event.getPayload().getProducts().forEach(this::validateProductInformed);
+        validateExistingProducts(event, existingCodes);
     }
 
     private void validateProductsInformed(Event event) {
@@ -51,14 +159,8 @@ public class ProductValidationService {
     }
 
     private void checkCurrentValidation(Event event) {
-        validateProductsInformed(event);
-        if (validationRepository.existsByOrderIdAndTransactionId(event.getOrderId(), event.getTransactionId())) {
-            throw new ValidationException("OrderId and transactionId is already in use!");
-        }
-        event.getPayload().getProducts().forEach(product -> {
-            validateProductInformed(product);
-            validateExistingProduct(product.getProduct().getCode());
-        });
+        event.getPayload().getProducts().forEach(this::validateProductInformed);
+        validateExistingProducts(event, findExistingCodes(List.of(event)));
     }
 
     private void validateProductInformed(OrderProducts product) {
@@ -67,20 +169,54 @@ public class ProductValidationService {
         }
     }
 
-    private void validateExistingProduct(String code) {
-        if (!productRepository.existsByCode(code)) {
-            throw new ValidationException("Product with code " + code + " does not exist!");
+    private void validateExistingProducts(Event event, Set<String> existingCodes) {
+        var missingCodes = event
+                .getPayload()
+                .getProducts()
+                .stream()
+                .map(product -> product.getProduct().getCode())
+                .filter(code -> !existingCodes.contains(code))
+                .distinct()
+                .toList();
+        if (missingCodes.size() == 1) {
+            throw new ValidationException("Product with code " + missingCodes.getFirst() + " does not exist!");
+        }
+        if (!missingCodes.isEmpty()) {
+            throw new ValidationException("Products with codes " + String.join(", ", missingCodes) + " do not exist!");
+        }
+    }
+
+    private void createSuccessfulValidation(Event event) {
+        try {
+            createValidation(event, true);
+            handleSuccess(event);
+        } catch (DataIntegrityViolationException ex) {
+            var validation = findProcessedValidation(event).orElseThrow(() -> new ValidationException("OrderId and transactionId is already in use!"));
+            handleProcessedValidation(event, validation.isSuccess());
+        }
+    }
+
+    private void createBatchValidation(Event event) {
+        try {
+            createSuccessfulValidation(event);
+        } catch (Exception ex) {
+            log.error("Error trying to save validation: ", ex);
+            handleFailCurrentNotExecuted(event, ex.getMessage());
         }
     }
 
     private void createValidation(Event event, boolean success) {
-        var validation = Validation
+        validationRepository.save(buildValidation(event, success));
+    }
+
+    private Validation buildValidation(Event event, boolean success) {
+        return Validation
                 .builder()
                 .orderId(event.getOrderId())
                 .transactionId(event.getTransactionId())
                 .success(success)
+                .createdAt(event.sagaCreatedAt())
                 .build();
-        validationRepository.save(validation);
     }
 
     private void handleSuccess(Event event) {
@@ -100,26 +236,40 @@ public class ProductValidationService {
         event.addToHistory(history);
     }
 
+    private void handleProcessedValidation(Event event, boolean success) {
+        event.setSource(CURRENT_SOURCE);
+        if (success) {
+            event.setStatus(ESagaStatus.SUCCESS);
+            addHistory(event, "Products were already validated!");
+        } else {
+            event.setStatus(ESagaStatus.FAIL);
+            addHistory(event, "Rollback was already executed on product validation!");
+        }
+    }
+
     private void handleFailCurrentNotExecuted(Event event, String message) {
         event.setStatus(ESagaStatus.ROLLBACK_PENDING);
         event.setSource(CURRENT_SOURCE);
         addHistory(event, "Fail to validate products: ".concat(message));
     }
 
-    public void rollbackEvent(Event event) {
+    public CompletableFuture<Void> rollbackEvent(Event event) {
         changeValidationToFail(event);
         event.setStatus(ESagaStatus.FAIL);
         event.setSource(CURRENT_SOURCE);
         addHistory(event, "Rollback executed on product validation!");
-        kafkaProducer.sendEvent(jsonUtil.toJson(event));
+        return kafkaProducer.sendEvent(event.getOrderId(), event);
     }
 
     private void changeValidationToFail(Event event) {
-        validationRepository.findByOrderIdAndTransactionId(event.getPayload().getId(), event.getPayload().getTransactionId())
+        validationRepository.findByOrderIdAndTransactionIdAndCreatedAt(event.getPayload().getId(), event.getPayload().getTransactionId(), event.sagaCreatedAt())
                 .ifPresentOrElse(validation -> {
                     validation.setSuccess(false);
                     validationRepository.save(validation);
                 },
                 () -> createValidation(event, false));
     }
+
+    private record ValidationKey(String orderId, String transactionId) {
+    }
 }
@@ -0,0 +1,83 @@
+package com.microservices.orchestration.core.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class BloomFilter {
+
+    private static final double LN_2 = Math.log(2);
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray words;
+    private final AtomicInteger insertions = new AtomicInteger();
+    private final AtomicLong setBits = new AtomicLong();
+    private final int bitCount;
+    private final int hashCount;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        var optimalBits = Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (LN_2 * LN_2));
+        var wordCount = (int) Math.max(1, Math.min(Math.ceil(optimalBits / Long.SIZE), Integer.MAX_VALUE / Long.SIZE));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * LN_2));
+    }
+
+    public boolean mightContain(String value) {
+        var hash = hash(value);
+        for (var i = 1; i <= hashCount; i++) {
+            var bit = bitIndex(hash, i);
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void put(String value) {
+        var hash = hash(value);
+        var changed = false;
+        for (var i = 1; i <= hashCount; i++) {
+            var bit = bitIndex(hash, i);
+            var mask = 1L << bit;
+            if ((words.getAndAccumulate(bit >>> 6, mask, (word, bits) -> word | bits) & mask) == 0) {
+                setBits.incrementAndGet();
+                changed = true;
+            }
+        }
+        if (changed) {
+            insertions.incrementAndGet();
+        }
+    }
+
+    public int getInsertions() {
+        return insertions.get();
+    }
+
+    public long getMemoryBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    public double getFalsePositiveRate() {
+        return Math.pow((double) setBits.get() / bitCount, hashCount);
+    }
+
+    private int bitIndex(long hash, int i) {
+        var combined = (int) hash + i * (int) (hash >>> 32);
+        return (combined < 0 ? ~combined : combined) % bitCount;
+    }
+
+    private static long hash(String value) {
+        var hash = FNV_OFFSET_BASIS;
+        for (var i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb93fe1a85ec2L;
+        return hash ^ (hash >>> 33);
+    }
+}
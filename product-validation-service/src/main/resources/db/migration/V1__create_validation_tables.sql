@@ -0,0 +1,18 @@
+CREATE TABLE product (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    code VARCHAR(255) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_product_code UNIQUE (code)
+);
+
+CREATE SEQUENCE validation_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE validation (
+    id INTEGER NOT NULL PRIMARY KEY,
+    order_id VARCHAR(255) NOT NULL,
+    transaction_id VARCHAR(255) NOT NULL,
+    success BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_validation_transaction_order UNIQUE (transaction_id, order_id)
+);
@@ -0,0 +1,6 @@
+INSERT INTO product (id, code, updated_at) VALUES (1, 'COMIC_BOOKS', LOCALTIMESTAMP);
+INSERT INTO product (id, code, updated_at) VALUES (2, 'BOOKS', LOCALTIMESTAMP);
+INSERT INTO product (id, code, updated_at) VALUES (3, 'MOVIES', LOCALTIMESTAMP);
+INSERT INTO product (id, code, updated_at) VALUES (4, 'MUSIC', LOCALTIMESTAMP);
+
+SELECT setval(pg_get_serial_sequence('product', 'id'), (SELECT MAX(id) FROM product));
@@ -0,0 +1,26 @@
+ALTER TABLE validation RENAME TO validation_unpartitioned;
+
+CREATE TABLE validation (
+    id INTEGER NOT NULL,
+    order_id VARCHAR(255) NOT NULL,
+    transaction_id VARCHAR(255) NOT NULL,
+    success BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_validation PRIMARY KEY (id, created_at),
+    CONSTRAINT uk_validation_transaction_order_created UNIQUE (transaction_id, order_id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE validation_default PARTITION OF validation DEFAULT;
+
+SELECT create_ledger_partition('validation', month::DATE)
+FROM (SELECT DISTINCT date_trunc('month', created_at) AS month FROM validation_unpartitioned) months;
+
+SELECT create_ledger_partition('validation', (date_trunc('month', LOCALTIMESTAMP) + make_interval(months => ahead))::DATE)
+FROM generate_series(0, 2) ahead;
+
+INSERT INTO validation (id, order_id, transaction_id, success, created_at, updated_at)
+SELECT id, order_id, transaction_id, success, created_at, updated_at
+FROM validation_unpartitioned;
+
+DROP TABLE validation_unpartitioned;
@@ -0,0 +1,80 @@
+package com.microservices.orchestration.core.catalog;
+
+import com.microservices.orchestration.core.repository.ProductCatalogVersion;
+import com.microservices.orchestration.core.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProductCatalogTest {
+
+    private static final int EXPECTED_UNKNOWN_CODES = 1_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ProductCatalog productCatalog;
+
+    @BeforeEach
+    void loadCatalog() {
+        when(productRepository.findCatalogVersion()).thenReturn(new ProductCatalogVersion(2L, LocalDateTime.of(2026, 10, 1, 12, 0)));
+        when(productRepository.findAllCodes()).thenReturn(List.of("BOOKS", "MOVIES"));
+        when(productRepository.findCodesByCodeIn(any())).thenReturn(Set.of());
+        productCatalog = new ProductCatalog(productRepository, meterRegistry, EXPECTED_UNKNOWN_CODES, FALSE_POSITIVE_RATE);
+        productCatalog.refresh();
+    }
+
+    @Test
+    void rejectsARepeatedUnknownCodeWithoutQueryingTheDatabase() {
+        assertThat(productCatalog.findExisting(List.of("BOOKS", "JUNK"))).containsExactly("BOOKS");
+        assertThat(productCatalog.findExisting(List.of("BOOKS", "JUNK"))).containsExactly("BOOKS");
+
+        verify(productRepository, times(1)).findCodesByCodeIn(any());
+    }
+
+    @Test
+    void acceptsACodeRememberedAsUnknownOnceTheCatalogReloadsIt() {
+        productCatalog.findExisting(List.of("COMIC_BOOKS"));
+        when(productRepository.findCatalogVersion()).thenReturn(new ProductCatalogVersion(3L, LocalDateTime.of(2026, 10, 2, 12, 0)));
+        when(productRepository.findAllCodes()).thenReturn(List.of("BOOKS", "MOVIES", "COMIC_BOOKS"));
+
+        productCatalog.refresh();
+
+        assertThat(productCatalog.findExisting(List.of("COMIC_BOOKS"))).containsExactly("COMIC_BOOKS");
+    }
+
+    @Test
+    void clearsTheNegativeCacheOnlyWhenTheCatalogChanges() {
+        productCatalog.findExisting(List.of("JUNK"));
+        productCatalog.refresh();
+        productCatalog.findExisting(List.of("JUNK"));
+        verify(productRepository, times(1)).findCodesByCodeIn(any());
+
+        when(productRepository.findCatalogVersion()).thenReturn(new ProductCatalogVersion(3L, LocalDateTime.of(2026, 10, 2, 12, 0)));
+        productCatalog.refresh();
+
+        assertThat(meterRegistry.get("product.catalog.unknown.codes").gauge().value()).isZero();
+        assertThat(productCatalog.findExisting(List.of("JUNK"))).isEmpty();
+        verify(productRepository, times(2)).findCodesByCodeIn(any());
+    }
+
+    @Test
+    void rotatesTheNegativeCacheBeforeItSaturates() {
+        IntStream.range(0, EXPECTED_UNKNOWN_CODES * 20).forEach(i -> productCatalog.findExisting(List.of("JUNK_" + i)));
+
+        var falsePositiveRate = meterRegistry.get("product.catalog.unknown.false.positive.rate").gauge().value();
+        var unknownCodes = meterRegistry.get("product.catalog.unknown.codes").gauge().value();
+        assertThat(falsePositiveRate).isLessThan(FALSE_POSITIVE_RATE * 2.5);
+        assertThat(unknownCodes).isLessThanOrEqualTo(EXPECTED_UNKNOWN_CODES * 2.5);
+        assertThat(productCatalog.findExisting(List.of("BOOKS", "MOVIES"))).containsExactlyInAnyOrder("BOOKS", "MOVIES");
+    }
+}
@@ -0,0 +1,122 @@
+package com.microservices.orchestration.core.service;
+
+import com.microservices.orchestration.commons.dto.Event;
+import com.microservices.orchestration.commons.dto.Order;
+import com.microservices.orchestration.commons.dto.OrderProducts;
+import com.microservices.orchestration.commons.dto.Product;
+import com.microservices.orchestration.commons.enums.EEventSource;
+import com.microservices.orchestration.commons.enums.ESagaStatus;
+import com.microservices.orchestration.core.catalog.ProductCatalog;
+import com.microservices.orchestration.core.model.Validation;
+import com.microservices.orchestration.core.producer.KafkaProducer;
+import com.microservices.orchestration.core.repository.ValidationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProductValidationServiceTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 10, 1, 12, 0);
+
+    private final KafkaProducer kafkaProducer = mock(KafkaProducer.class);
+    private final ProductCatalog productCatalog = mock(ProductCatalog.class);
+    private final ValidationRepository validationRepository = mock(ValidationRepository.class);
+    private final ProductValidationService productValidationService = new ProductValidationService(kafkaProducer, productCatalog, validationRepository);
+
+    @BeforeEach
+    void setUp() {
+        when(kafkaProducer.sendEvent(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(productCatalog.findExisting(any())).thenReturn(Set.of("BOOKS"));
+        when(validationRepository.findByOrderIdAndTransactionIdAndCreatedAt(any(), any(), any())).thenReturn(Optional.empty());
+        when(validationRepository.findByTransactionIdInAndCreatedAtBetween(any(), any(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void repliesTheStoredSuccessWhenARedeliveredOrderWasAlreadyValidated() {
+        when(validationRepository.findByOrderIdAndTransactionIdAndCreatedAt("order-1", "transaction-1", CREATED_AT)).thenReturn(Optional.of(buildValidation(true)));
+        var redelivered = buildEvent();
+
+        productValidationService.validateExistingProducts(redelivered);
+
+        assertThat(redelivered.getStatus()).isEqualTo(ESagaStatus.SUCCESS);
+        assertThat(redelivered.getSource()).isEqualTo(EEventSource.PRODUCT_VALIDATION_SERVICE);
+        verify(validationRepository, never()).save(any());
+    }
+
+    @Test
+    void repliesFailWhenARedeliveredOrderWasAlreadyRolledBack() {
+        when(validationRepository.findByOrderIdAndTransactionIdAndCreatedAt("order-1", "transaction-1", CREATED_AT)).thenReturn(Optional.of(buildValidation(false)));
+        var redelivered = buildEvent();
+
+        productValidationService.validateExistingProducts(redelivered);
+
+        assertThat(redelivered.getStatus()).isEqualTo(ESagaStatus.FAIL);
+        verify(validationRepository, never()).save(any());
+    }
+
+    @Test
+    void repliesTheStoredOutcomeWhenAConcurrentDeliveryWinsTheInsert() {
+        when(validationRepository.save(any())).thenThrow(new DataIntegrityViolationException("uk_validation_transaction_order_created"));
+        when(validationRepository.findByOrderIdAndTransactionIdAndCreatedAt("order-1", "transaction-1", CREATED_AT))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(buildValidation(true)));
+        var redelivered = buildEvent();
+
+        productValidationService.validateExistingProducts(redelivered);
+
+        assertThat(redelivered.getStatus()).isEqualTo(ESagaStatus.SUCCESS);
+    }
+
+    @Test
+    void savesTheBatchOneByOneWhenAnotherDeliveryAlreadySavedAValidation() {
+        when(validationRepository.saveAll(any())).thenThrow(new DataIntegrityViolationException("uk_validation_transaction_order_created"));
+        when(validationRepository.save(any())).thenThrow(new DataIntegrityViolationException("uk_validation_transaction_order_created"));
+        when(validationRepository.findByOrderIdAndTransactionIdAndCreatedAt("order-1", "transaction-1", CREATED_AT)).thenReturn(Optional.of(buildValidation(true)));
+        var first = buildEvent();
+        var copy = buildEvent();
+
+        productValidationService.validateExistingProducts(List.of(first, copy));
+
+        assertThat(List.of(first, copy)).extracting(Event::getStatus).containsOnly(ESagaStatus.SUCCESS);
+        verify(validationRepository, times(1)).save(any());
+    }
+
+    private Validation buildValidation(boolean success) {
+        return Validation
+                .builder()
+                .orderId("order-1")
+                .transactionId("transaction-1")
+                .success(success)
+                .createdAt(CREATED_AT)
+                .build();
+    }
+
+    private Event buildEvent() {
+        var order = Order
+                .builder()
+                .id("order-1")
+                .transactionId("transaction-1")
+                .createdAt(CREATED_AT)
+                .products(List.of(new OrderProducts(new Product("BOOKS", 1_250), 2)))
+                .build();
+        return Event
+                .builder()
+                .id("event-1")
+                .orderId("order-1")
+                .transactionId("transaction-1")
+                .payload(order)
+                .source(EEventSource.ORCHESTRATOR)
+                .status(ESagaStatus.SUCCESS)
+                .build();
+    }
+}
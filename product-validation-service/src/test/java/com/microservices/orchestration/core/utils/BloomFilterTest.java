@@ -0,0 +1,46 @@
+package com.microservices.orchestration.core.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    private static final int EXPECTED_INSERTIONS = 10_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    void neverReportsAnInsertedValueAsMissing() {
+        var filter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE);
+        IntStream.range(0, EXPECTED_INSERTIONS * 3).forEach(i -> filter.put("PRODUCT_" + i));
+
+        assertThat(IntStream.range(0, EXPECTED_INSERTIONS * 3)).allMatch(i -> filter.mightContain("PRODUCT_" + i));
+    }
+
+    @Test
+    void keepsTheFalsePositiveRateItWasSizedForAtItsCapacity() {
+        var filter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE);
+        IntStream.range(0, EXPECTED_INSERTIONS).forEach(i -> filter.put("PRODUCT_" + i));
+
+        var falsePositives = IntStream
+                .range(0, 100_000)
+                .filter(i -> filter.mightContain("UNKNOWN_" + i))
+                .count();
+
+        assertThat(falsePositives / 100_000.0).isLessThan(FALSE_POSITIVE_RATE * 1.5);
+        assertThat(filter.getFalsePositiveRate()).isBetween(FALSE_POSITIVE_RATE / 2, FALSE_POSITIVE_RATE * 1.5);
+        assertThat(filter.getInsertions()).isLessThanOrEqualTo(EXPECTED_INSERTIONS);
+    }
+
+    @Test
+    void estimatesTheFalsePositiveRateFromTheBitsSet() {
+        var filter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE);
+        assertThat(filter.getFalsePositiveRate()).isZero();
+
+        IntStream.range(0, EXPECTED_INSERTIONS * 10).forEach(i -> filter.put("PRODUCT_" + i));
+
+        assertThat(filter.getFalsePositiveRate()).isGreaterThan(0.9);
+    }
+}
@@ -0,0 +1,54 @@
+package com.microservices.orchestration.commons.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.microservices.orchestration.commons.enums.EEventSource;
+import com.microservices.orchestration.commons.enums.ESagaStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.util.ObjectUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Event {
+
+    private String id;
+    private String transactionId;
+    private String orderId;
+    private Order payload;
+    private EEventSource source;
+    private ESagaStatus status;
+    private List<History> eventHistory;
+    private LocalDateTime createdAt;
+
+    public void addToHistory(History history) {
+        if (ObjectUtils.isEmpty(eventHistory)) {
+            eventHistory = new ArrayList<>();
+        }
+        eventHistory.add(history);
+    }
+
+    public Event withoutHistory() {
+        return toBuilder().eventHistory(null).build();
+    }
+
+    public boolean hasSagaCreatedAt() {
+        return !ObjectUtils.isEmpty(payload) && !ObjectUtils.isEmpty(payload.getCreatedAt());
+    }
+
+    public LocalDateTime sagaCreatedAt() {
+        if (!hasSagaCreatedAt()) {
+            throw new IllegalArgumentException("Order createdAt must be set!");
+        }
+        return payload.getCreatedAt().truncatedTo(ChronoUnit.MILLIS);
+    }
+}
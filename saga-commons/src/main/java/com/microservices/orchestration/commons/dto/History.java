@@ -1,7 +1,7 @@
-package com.microservices.orchestration.core.dto;
+package com.microservices.orchestration.commons.dto;
 
-import com.microservices.orchestration.core.enums.EEventSource;
-import com.microservices.orchestration.core.enums.ESagaStatus;
+import com.microservices.orchestration.commons.enums.EEventSource;
+import com.microservices.orchestration.commons.enums.ESagaStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
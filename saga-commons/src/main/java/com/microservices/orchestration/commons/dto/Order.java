@@ -0,0 +1,39 @@
+package com.microservices.orchestration.commons.dto;
+
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.microservices.orchestration.commons.utils.CentsConverter;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Order {
+
+    private String id;
+    private List<OrderProducts> products;
+    private LocalDateTime createdAt;
+    private String transactionId;
+    private long totalAmountInCents;
+    private int totalItems;
+
+    @JsonSetter("totalAmountInCents")
+    public void setTotalAmountInCents(Long totalAmountInCents) {
+        if (totalAmountInCents != null) {
+            this.totalAmountInCents = totalAmountInCents;
+        }
+    }
+
+    @JsonSetter("totalAmount")
+    public void setTotalAmount(Double totalAmount) {
+        if (totalAmount != null) {
+            this.totalAmountInCents = CentsConverter.toCents(totalAmount);
+        }
+    }
+}
@@ -1,4 +1,4 @@
-package com.microservices.orchestration.core.dto;
+package com.microservices.orchestration.commons.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
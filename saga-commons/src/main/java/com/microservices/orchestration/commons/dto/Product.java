@@ -0,0 +1,30 @@
+package com.microservices.orchestration.commons.dto;
+
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.microservices.orchestration.commons.utils.CentsConverter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Product {
+
+    private String code;
+    private long unitValueInCents;
+
+    @JsonSetter("unitValueInCents")
+    public void setUnitValueInCents(Long unitValueInCents) {
+        if (unitValueInCents != null) {
+            this.unitValueInCents = unitValueInCents;
+        }
+    }
+
+    @JsonSetter("unitValue")
+    public void setUnitValue(Double unitValue) {
+        if (unitValue != null) {
+            this.unitValueInCents = CentsConverter.toCents(unitValue);
+        }
+    }
+}
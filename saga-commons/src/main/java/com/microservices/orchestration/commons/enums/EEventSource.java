@@ -1,4 +1,4 @@
-package com.microservices.orchestration.core.enums;
+package com.microservices.orchestration.commons.enums;
 
 public enum EEventSource {
     ORCHESTRATOR,
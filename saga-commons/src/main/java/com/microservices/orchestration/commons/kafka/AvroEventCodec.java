@@ -0,0 +1,48 @@
+package com.microservices.orchestration.commons.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.avro.AvroMapper;
+import com.fasterxml.jackson.dataformat.avro.AvroSchema;
+
+import java.io.IOException;
+
+public class AvroEventCodec<T> implements EventCodec<T> {
+
+    private static final String CONTENT_TYPE = "application/vnd.saga.%s+avro";
+
+    private final String contentType;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    public AvroEventCodec(AvroMapper avroMapper, String schemaName, AvroSchema writerSchema, AvroSchema readerSchema, Class<T> eventType)
+            throws JsonProcessingException {
+        this.contentType = contentType(schemaName);
+        this.writer = avroMapper
+                .writerFor(eventType)
+                .with(writerSchema);
+        this.reader = avroMapper
+                .readerFor(eventType)
+                .with(writerSchema.withReaderSchema(readerSchema));
+    }
+
+    public static String contentType(String schemaName) {
+        return String.format(CONTENT_TYPE, schemaName);
+    }
+
+    @Override
+    public String contentType() {
+        return contentType;
+    }
+
+    @Override
+    public byte[] encode(T event) throws IOException {
+        return writer.writeValueAsBytes(event);
+    }
+
+    @Override
+    public T decode(byte[] data, int offset, int length) throws IOException {
+        return reader.readValue(data, offset, length);
+    }
+}
@@ -0,0 +1,60 @@
+package com.microservices.orchestration.commons.kafka;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+@Slf4j
+public class BoundedKafkaSender<K, V> {
+
+    private final KafkaTemplate<K, V> kafkaTemplate;
+    private final Semaphore inFlightSends;
+
+    public BoundedKafkaSender(KafkaTemplate<K, V> kafkaTemplate, int maxInFlightSends) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.inFlightSends = new Semaphore(maxInFlightSends);
+    }
+
+    public CompletableFuture<Void> send(String topic, K key, V value) {
+        var sent = new CompletableFuture<Void>();
+        try {
+            inFlightSends.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            sent.completeExceptionally(ex);
+            return sent;
+        }
+        sent.whenComplete((result, ex) -> inFlightSends.release());
+        doSend(topic, key, value, sent);
+        return sent;
+    }
+
+    public void flush() {
+        kafkaTemplate.flush();
+    }
+
+    private void doSend(String topic, K key, V value, CompletableFuture<Void> sent) {
+        try {
+            kafkaTemplate
+                    .send(topic, key, value)
+                    .whenComplete((result, ex) -> {
+                        if (ex == null) {
+                            sent.complete(null);
+                        } else {
+                            handleFailure(topic, key, sent, ex);
+                        }
+                    });
+        } catch (Exception ex) {
+            handleFailure(topic, key, sent, ex);
+        }
+    }
+
+    private void handleFailure(String topic, K key, CompletableFuture<Void> sent, Throwable ex) {
+        var cause = ex instanceof CompletionException ? ex.getCause() : ex;
+        log.error("Error trying to send data to topic {} with key {}", topic, key, cause);
+        sent.completeExceptionally(cause);
+    }
+}
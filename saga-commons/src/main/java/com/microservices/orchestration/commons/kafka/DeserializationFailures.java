@@ -0,0 +1,43 @@
+package com.microservices.orchestration.commons.kafka;
+
+import org.apache.commons.logging.LogFactory;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class DeserializationFailures {
+
+    private static final LogAccessor LOGGER = new LogAccessor(LogFactory.getLog(DeserializationFailures.class));
+
+    private DeserializationFailures() {
+    }
+
+    public static DeserializationException failureOf(ConsumerRecord<?, ?> record) {
+        return SerializationUtils.getExceptionFromHeader(record, SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, LOGGER);
+    }
+
+    public static <V> List<V> valuesBeforeFailure(List<ConsumerRecord<String, V>> records) {
+        var values = new ArrayList<V>(records.size());
+        for (var record : records) {
+            if (failureOf(record) != null) {
+                break;
+            }
+            values.add(record.value());
+        }
+        return values;
+    }
+
+    public static void rejectFailure(List<? extends ConsumerRecord<?, ?>> records) {
+        for (var index = 0; index < records.size(); index++) {
+            var failure = failureOf(records.get(index));
+            if (failure != null) {
+                throw new BatchListenerFailedException("Record could not be deserialized", failure, index);
+            }
+        }
+    }
+}
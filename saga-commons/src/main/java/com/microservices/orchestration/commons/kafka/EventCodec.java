@@ -0,0 +1,14 @@
+package com.microservices.orchestration.commons.kafka;
+
+import java.io.IOException;
+
+public interface EventCodec<T> {
+
+    String CONTENT_TYPE_HEADER = "content-type";
+
+    String contentType();
+
+    byte[] encode(T event) throws IOException;
+
+    T decode(byte[] data, int offset, int length) throws IOException;
+}
@@ -0,0 +1,82 @@
+package com.microservices.orchestration.commons.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.avro.AvroMapper;
+import com.fasterxml.jackson.dataformat.avro.jsr310.AvroJavaTimeModule;
+import org.springframework.core.env.Environment;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class EventCodecs<T> {
+
+    private static final String FORMAT_PROPERTY = "spring.kafka.serialization.%s";
+    private static final String JSON_FORMAT = "json";
+    private static final String AVRO_FORMAT = "avro";
+
+    private final Environment environment;
+    private final String defaultFormat;
+    private final EventCodec<T> jsonCodec;
+    private final EventCodec<T> avroCodec;
+    private final Map<String, EventCodec<T>> codecsByContentType = new HashMap<>();
+    private final Map<String, EventCodec<T>> codecsByTopic = new ConcurrentHashMap<>();
+
+    public EventCodecs(Environment environment,
+                       ObjectMapper objectMapper,
+                       EventSchemaRegistry schemaRegistry,
+                       String currentSchema,
+                       String defaultFormat,
+                       Class<T> eventType) {
+        this.environment = environment;
+        this.defaultFormat = defaultFormat;
+        var avroMapper = AvroMapper
+                .builder()
+                .addModule(new AvroJavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        var readerSchema = schemaRegistry.getSchema(currentSchema);
+        for (var schema : schemaRegistry.getSchemas().entrySet()) {
+            try {
+                var codec = new AvroEventCodec<>(avroMapper, schema.getKey(), schema.getValue(), readerSchema, eventType);
+                codecsByContentType.put(codec.contentType(), codec);
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException(String.format("Event schema %s cannot be read as %s", schema.getKey(), currentSchema), ex);
+            }
+        }
+        this.jsonCodec = new JsonEventCodec<>(objectMapper, eventType);
+        this.avroCodec = codecsByContentType.get(AvroEventCodec.contentType(currentSchema));
+        codecsByContentType.put(jsonCodec.contentType(), jsonCodec);
+        getCodec(defaultFormat);
+    }
+
+    public EventCodec<T> getJsonCodec() {
+        return jsonCodec;
+    }
+
+    public EventCodec<T> forTopic(String topic) {
+        return codecsByTopic.computeIfAbsent(topic, this::resolveTopicCodec);
+    }
+
+    public Optional<EventCodec<T>> forContentType(String contentType) {
+        if (contentType == null) {
+            return Optional.of(jsonCodec);
+        }
+        return Optional.ofNullable(codecsByContentType.get(contentType));
+    }
+
+    private EventCodec<T> resolveTopicCodec(String topic) {
+        return getCodec(environment.getProperty(String.format(FORMAT_PROPERTY, topic), defaultFormat));
+    }
+
+    private EventCodec<T> getCodec(String format) {
+        return switch (format) {
+            case JSON_FORMAT -> jsonCodec;
+            case AVRO_FORMAT -> avroCodec;
+            default -> throw new IllegalStateException(String.format("Unsupported event serialization format %s", format));
+        };
+    }
+}
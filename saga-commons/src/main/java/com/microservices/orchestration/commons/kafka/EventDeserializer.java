@@ -0,0 +1,64 @@
+package com.microservices.orchestration.commons.kafka;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.utils.Utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class EventDeserializer<T> implements Deserializer<T> {
+
+    private final EventCodecs<T> eventCodecs;
+
+    public EventDeserializer(EventCodecs<T> eventCodecs) {
+        this.eventCodecs = eventCodecs;
+    }
+
+    @Override
+    public T deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        return read(topic, null, data, 0, data.length);
+    }
+
+    @Override
+    public T deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        return read(topic, getContentType(headers), data, 0, data.length);
+    }
+
+    @Override
+    public T deserialize(String topic, Headers headers, ByteBuffer data) {
+        if (data == null) {
+            return null;
+        }
+        if (!data.hasArray()) {
+            return deserialize(topic, headers, Utils.toArray(data));
+        }
+        return read(topic, getContentType(headers), data.array(), data.arrayOffset() + data.position(), data.remaining());
+    }
+
+    private String getContentType(Headers headers) {
+        if (headers == null) {
+            return null;
+        }
+        var header = headers.lastHeader(EventCodec.CONTENT_TYPE_HEADER);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    private T read(String topic, String contentType, byte[] data, int offset, int length) {
+        var codec = eventCodecs
+                .forContentType(contentType)
+                .orElseThrow(() -> new SerializationException(String.format("Unknown content type %s for event from topic %s", contentType, topic)));
+        try {
+            return codec.decode(data, offset, length);
+        } catch (Exception ex) {
+            throw new SerializationException(String.format("Error deserializing event from topic %s", topic), ex);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.microservices.orchestration.commons.kafka;
+
+import com.fasterxml.jackson.dataformat.avro.AvroSchema;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.ObjectUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+public class EventSchemaRegistry {
+
+    private static final String CLASSPATH_SCHEMAS = "classpath*:schemas/*.avsc";
+    private static final String FILE_SCHEMAS = "file:%s/*.avsc";
+    private static final String SCHEMA_EXTENSION = ".avsc";
+
+    private final Map<String, AvroSchema> schemasByName = new HashMap<>();
+
+    public EventSchemaRegistry(String location) {
+        var resolver = new PathMatchingResourcePatternResolver();
+        load(resolver, CLASSPATH_SCHEMAS);
+        if (!ObjectUtils.isEmpty(location)) {
+            load(resolver, String.format(FILE_SCHEMAS, location));
+        }
+    }
+
+    public AvroSchema getSchema(String name) {
+        var schema = schemasByName.get(name);
+        if (schema == null) {
+            throw new IllegalStateException(String.format("Event schema %s was not found in the registry", name));
+        }
+        return schema;
+    }
+
+    public Map<String, AvroSchema> getSchemas() {
+        return Collections.unmodifiableMap(schemasByName);
+    }
+
+    private void load(PathMatchingResourcePatternResolver resolver, String pattern) {
+        try {
+            for (var resource : resolver.getResources(pattern)) {
+                var name = getSchemaName(resource);
+                try (var input = resource.getInputStream()) {
+                    schemasByName.put(name, new AvroSchema(new Schema.Parser().parse(input)));
+                }
+                log.info("Loaded event schema {} from {}", name, resource.getDescription());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(String.format("Error loading event schemas from %s", pattern), ex);
+        }
+    }
+
+    private String getSchemaName(Resource resource) {
+        var filename = resource.getFilename();
+        return filename.substring(0, filename.length() - SCHEMA_EXTENSION.length());
+    }
+}
@@ -0,0 +1,43 @@
+package com.microservices.orchestration.commons.kafka;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.charset.StandardCharsets;
+
+public class EventSerializer<T> implements Serializer<T> {
+
+    private final EventCodecs<T> eventCodecs;
+
+    public EventSerializer(EventCodecs<T> eventCodecs) {
+        this.eventCodecs = eventCodecs;
+    }
+
+    @Override
+    public byte[] serialize(String topic, T event) {
+        if (event == null) {
+            return null;
+        }
+        return encode(topic, eventCodecs.getJsonCodec(), event);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, T event) {
+        if (event == null) {
+            return null;
+        }
+        var codec = eventCodecs.forTopic(topic);
+        var data = encode(topic, codec, event);
+        headers.add(EventCodec.CONTENT_TYPE_HEADER, codec.contentType().getBytes(StandardCharsets.UTF_8));
+        return data;
+    }
+
+    private byte[] encode(String topic, EventCodec<T> codec, T event) {
+        try {
+            return codec.encode(event);
+        } catch (Exception ex) {
+            throw new SerializationException(String.format("Error serializing event for topic %s", topic), ex);
+        }
+    }
+}
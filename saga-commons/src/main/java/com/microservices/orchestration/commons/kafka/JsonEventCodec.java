@@ -0,0 +1,33 @@
+package com.microservices.orchestration.commons.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+public class JsonEventCodec<T> implements EventCodec<T> {
+
+    public static final String CONTENT_TYPE = "application/json";
+
+    private final ObjectMapper objectMapper;
+    private final Class<T> eventType;
+
+    public JsonEventCodec(ObjectMapper objectMapper, Class<T> eventType) {
+        this.objectMapper = objectMapper;
+        this.eventType = eventType;
+    }
+
+    @Override
+    public String contentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public byte[] encode(T event) throws IOException {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Override
+    public T decode(byte[] data, int offset, int length) throws IOException {
+        return objectMapper.readValue(data, offset, length, eventType);
+    }
+}
@@ -0,0 +1,136 @@
+package com.microservices.orchestration.commons.kafka;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.adapter.BatchToRecordAdapter;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.Message;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+public class KeyOrderedBatchToRecordAdapter<K, V> implements BatchToRecordAdapter<K, V> {
+
+    private final ExecutorService executor;
+    private final Duration ackTimeout;
+
+    public KeyOrderedBatchToRecordAdapter(boolean virtualThreads, Duration ackTimeout) {
+        this.executor = virtualThreads ? Executors.newVirtualThreadPerTaskExecutor() : null;
+        this.ackTimeout = ackTimeout;
+    }
+
+    @Override
+    public void adapt(List<Message<?>> messages,
+                      List<ConsumerRecord<K, V>> records,
+                      Acknowledgment ack,
+                      Consumer<?, ?> consumer,
+                      Callback<K, V> callback) {
+        var recordAcks = new ArrayList<RecordAcknowledgment>(records.size());
+        records.forEach(record -> recordAcks.add(new RecordAcknowledgment()));
+        if (executor == null) {
+            for (var index = 0; index < records.size(); index++) {
+                invoke(messages.get(index), records.get(index), recordAcks.get(index), consumer, callback);
+            }
+        } else {
+            invokeByKey(messages, records, recordAcks, consumer, callback);
+        }
+        awaitAcknowledgments(records, recordAcks);
+        if (ack != null) {
+            ack.acknowledge();
+        }
+    }
+
+    private void invokeByKey(List<Message<?>> messages,
+                             List<ConsumerRecord<K, V>> records,
+                             List<RecordAcknowledgment> recordAcks,
+                             Consumer<?, ?> consumer,
+                             Callback<K, V> callback) {
+        var lanes = new ArrayList<Callable<Void>>();
+        groupIndexesByKey(records).values().forEach(indexes -> lanes.add(() -> {
+            indexes.forEach(index -> invoke(messages.get(index), records.get(index), recordAcks.get(index), consumer, callback));
+            return null;
+        }));
+        try {
+            executor.invokeAll(lanes);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for records to be processed.", ex);
+        }
+    }
+
+    private LinkedHashMap<K, List<Integer>> groupIndexesByKey(List<ConsumerRecord<K, V>> records) {
+        var indexesByKey = new LinkedHashMap<K, List<Integer>>();
+        for (var index = 0; index < records.size(); index++) {
+            indexesByKey.computeIfAbsent(records.get(index).key(), key -> new ArrayList<>()).add(index);
+        }
+        return indexesByKey;
+    }
+
+    private void invoke(Message<?> message,
+                        ConsumerRecord<K, V> record,
+                        RecordAcknowledgment ack,
+                        Consumer<?, ?> consumer,
+                        Callback<K, V> callback) {
+        var deserializationFailure = DeserializationFailures.failureOf(record);
+        if (deserializationFailure != null) {
+            log.error("Error deserializing record from topic {} partition {} offset {}", record.topic(), record.partition(), record.offset(), deserializationFailure);
+            ack.fail(deserializationFailure);
+            return;
+        }
+        try {
+            callback.invoke(record, ack, consumer, message);
+        } catch (Exception ex) {
+            log.error("Error processing record from topic {} partition {} offset {}", record.topic(), record.partition(), record.offset(), ex);
+            ack.fail(ex);
+        }
+    }
+
+    private void awaitAcknowledgments(List<ConsumerRecord<K, V>> records, List<RecordAcknowledgment> recordAcks) {
+        var deadline = System.nanoTime() + ackTimeout.toNanos();
+        for (var index = 0; index < records.size(); index++) {
+            try {
+                recordAcks.get(index).getAcknowledged().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException ex) {
+                throw new BatchListenerFailedException("Record was not acknowledged", ex.getCause(), index);
+            } catch (TimeoutException ex) {
+                throw new BatchListenerFailedException("Record was not acknowledged within " + ackTimeout, ex, index);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new BatchListenerFailedException("Interrupted while waiting for acknowledgements", ex, index);
+            }
+        }
+    }
+
+    @Getter
+    private static final class RecordAcknowledgment implements Acknowledgment {
+
+        private final CompletableFuture<Void> acknowledged = new CompletableFuture<>();
+
+        @Override
+        public void acknowledge() {
+            acknowledged.complete(null);
+        }
+
+        @Override
+        public void nack(Duration sleep) {
+            fail(new IllegalStateException("Record was negatively acknowledged by the listener"));
+        }
+
+        private void fail(Exception ex) {
+            acknowledged.completeExceptionally(ex);
+        }
+    }
+}
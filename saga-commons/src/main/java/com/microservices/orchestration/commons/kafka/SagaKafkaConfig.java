@@ -0,0 +1,206 @@
+package com.microservices.orchestration.commons.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public abstract class SagaKafkaConfig<V> {
+
+    private static final Integer REPLICAS_COUNT = 1;
+    private static final String PARTITIONS_PROPERTY = "spring.kafka.partitions.%s";
+    private static final String THROUGHPUT_PRODUCER_PROFILE = "throughput";
+    private static final String DEAD_LETTER_SUFFIX = ".DLT";
+
+    private final Environment environment;
+    private final ObjectMapper objectMapper;
+    private final Class<V> eventType;
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${spring.kafka.consumer.group-id}")
+    private String groupId;
+
+    @Value("${spring.kafka.consumer.auto-offset-reset}")
+    private String autoOffsetReset;
+
+    @Value("${spring.kafka.partitions.default}")
+    private Integer defaultPartitions;
+
+    @Value("${spring.kafka.listener.concurrency}")
+    private Integer listenerConcurrency;
+
+    @Value("${spring.kafka.listener.virtual-threads}")
+    private boolean listenerVirtualThreads;
+
+    @Value("${spring.kafka.listener.ack-timeout}")
+    private Duration listenerAckTimeout;
+
+    @Value("${spring.kafka.listener.retry.backoff}")
+    private Duration listenerRetryBackoff;
+
+    @Value("${spring.kafka.listener.retry.attempts}")
+    private Long listenerRetryAttempts;
+
+    @Value("${spring.kafka.serialization.default}")
+    private String defaultSerializationFormat;
+
+    @Value("${spring.kafka.schema.location}")
+    private String schemaLocation;
+
+    @Value("${spring.kafka.schema.current}")
+    private String currentSchema;
+
+    @Value("${spring.kafka.producer.max-in-flight-sends}")
+    private Integer maxInFlightSends;
+
+
+    @Value("${spring.kafka.producer.profile}")
+    private String producerProfile;
+
+    @Value("${spring.kafka.producer.throughput.linger-ms}")
+    private Integer lingerMs;
+
+    @Value("${spring.kafka.producer.throughput.batch-size}")
+    private Integer batchSize;
+
+    @Value("${spring.kafka.producer.throughput.compression-type}")
+    private String compressionType;
+
+    @Value("${spring.kafka.producer.throughput.acks}")
+    private String acks;
+
+    @Value("${spring.kafka.producer.throughput.enable-idempotence}")
+    private boolean enableIdempotence;
+
+    protected SagaKafkaConfig(Environment environment, ObjectMapper objectMapper, Class<V> eventType) {
+        this.environment = environment;
+        this.objectMapper = objectMapper;
+        this.eventType = eventType;
+    }
+
+    @Bean
+    public EventCodecs<V> eventCodecs() {
+        var schemaRegistry = new EventSchemaRegistry(schemaLocation);
+        return new EventCodecs<>(environment, objectMapper, schemaRegistry, currentSchema, defaultSerializationFormat, eventType);
+    }
+
+    @Bean
+    public ConsumerFactory<String, V> consumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(consumerProps(), new StringDeserializer(), new ErrorHandlingDeserializer<>(new EventDeserializer<>(eventCodecs())));
+    }
+
+    private Map<String, Object> consumerProps() {
+        var props = new HashMap<String, Object>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, autoOffsetReset);
+        return props;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, V> kafkaListenerContainerFactory() {
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, V>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(listenerConcurrency);
+        factory.setBatchListener(true);
+        factory.setBatchToRecordAdapter(new KeyOrderedBatchToRecordAdapter<>(listenerVirtualThreads, listenerAckTimeout));
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setCommonErrorHandler(errorHandler());
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, V> batchKafkaListenerContainerFactory() {
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, V>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(listenerConcurrency);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setCommonErrorHandler(errorHandler());
+        return factory;
+    }
+
+    @Bean
+    public DefaultErrorHandler errorHandler() {
+        var templates = new LinkedHashMap<Class<?>, KafkaOperations<?, ?>>();
+        templates.put(byte[].class, deadLetterBytesTemplate());
+        templates.put(Object.class, kafkaTemplate());
+        var recoverer = new DeadLetterPublishingRecoverer(templates,
+                (record, ex) -> new TopicPartition(record.topic() + DEAD_LETTER_SUFFIX, -1));
+        return new DefaultErrorHandler(recoverer, new FixedBackOff(listenerRetryBackoff.toMillis(), listenerRetryAttempts));
+    }
+
+    @Bean
+    public ProducerFactory<String, V> producerFactory() {
+        return new DefaultKafkaProducerFactory<>(producerProps(), new StringSerializer(), new EventSerializer<>(eventCodecs()));
+    }
+
+    private Map<String, Object> producerProps() {
+        var props = new HashMap<String, Object>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        if (THROUGHPUT_PRODUCER_PROFILE.equals(producerProfile)) {
+            props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+            props.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+            props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+            props.put(ProducerConfig.ACKS_CONFIG, acks);
+            props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, enableIdempotence);
+        }
+        return props;
+    }
+
+    @Bean
+    public KafkaTemplate<String, V> kafkaTemplate() {
+        return new KafkaTemplate<>(producerFactory());
+    }
+
+    private KafkaTemplate<String, byte[]> deadLetterBytesTemplate() {
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(producerProps(), new StringSerializer(), new ByteArraySerializer()));
+    }
+
+    @Bean
+    public BoundedKafkaSender<String, V> boundedKafkaSender() {
+        return new BoundedKafkaSender<>(kafkaTemplate(), maxInFlightSends);
+    }
+
+    protected NewTopic buildTopic(String name) {
+        return TopicBuilder
+                .name(name)
+                .replicas(REPLICAS_COUNT)
+                .partitions(getPartitions(name))
+                .build();
+    }
+
+    protected NewTopic buildDeadLetterTopic(String name) {
+        return TopicBuilder
+                .name(name + DEAD_LETTER_SUFFIX)
+                .replicas(REPLICAS_COUNT)
+                .partitions(getPartitions(name))
+                .build();
+    }
+
+    private Integer getPartitions(String topic) {
+        return environment.getProperty(String.format(PARTITIONS_PROPERTY, topic), Integer.class, defaultPartitions);
+    }
+}
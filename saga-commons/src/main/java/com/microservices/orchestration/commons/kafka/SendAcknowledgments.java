@@ -0,0 +1,22 @@
+package com.microservices.orchestration.commons.kafka;
+
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+public final class SendAcknowledgments {
+
+    private SendAcknowledgments() {
+    }
+
+    public static void acknowledgeWhenSent(CompletableFuture<?> sent, Acknowledgment acknowledgment) {
+        sent.whenComplete((result, ex) -> {
+            if (ex == null) {
+                acknowledgment.acknowledge();
+            } else {
+                acknowledgment.nack(Duration.ZERO);
+            }
+        });
+    }
+}
@@ -0,0 +1,115 @@
+package com.microservices.orchestration.commons.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+public class LedgerPartitionMaintainer {
+
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_lock(hashtext(?))";
+    private static final String UNLOCK = "SELECT pg_advisory_unlock(hashtext(?))";
+    private static final String MAINTAIN_PARTITIONS = "SELECT partition_name, action FROM maintain_ledger_partitions(?, ?, ?, ?)";
+    private static final String DETACH = "detach";
+    private static final String DETACH_PENDING = "detach pending";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String table;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final int archiveRetentionMonths;
+
+    public LedgerPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                     String table,
+                                     int monthsAhead,
+                                     int retentionMonths,
+                                     int archiveRetentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.table = table;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.archiveRetentionMonths = archiveRetentionMonths;
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.partitions.maintenance-interval}")
+    public void maintain() {
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                if (!tryLock(connection)) {
+                    log.info("Partitions of {} are being maintained by another instance", table);
+                    return null;
+                }
+                try {
+                    archivePartitions(connection, maintainPartitions(connection));
+                } finally {
+                    unlock(connection);
+                }
+                return null;
+            });
+        } catch (Exception ex) {
+            log.error("Error trying to maintain the partitions of {}: ", table, ex);
+        }
+    }
+
+    private List<PartitionToArchive> maintainPartitions(Connection connection) throws SQLException {
+        var partitionsToArchive = new ArrayList<PartitionToArchive>();
+        try (var statement = connection.prepareStatement(MAINTAIN_PARTITIONS)) {
+            statement.setString(1, table);
+            statement.setInt(2, monthsAhead);
+            statement.setInt(3, retentionMonths);
+            statement.setInt(4, archiveRetentionMonths);
+            try (var result = statement.executeQuery()) {
+                while (result.next()) {
+                    var partitionName = result.getString("partition_name");
+                    var action = result.getString("action");
+                    if (DETACH.equals(action) || DETACH_PENDING.equals(action)) {
+                        partitionsToArchive.add(new PartitionToArchive(partitionName, DETACH_PENDING.equals(action)));
+                    } else {
+                        log.info("Ledger partition {} {}", partitionName, action);
+                    }
+                }
+            }
+        }
+        return partitionsToArchive;
+    }
+
+    private void archivePartitions(Connection connection, List<PartitionToArchive> partitionsToArchive) throws SQLException {
+        for (var partition : partitionsToArchive) {
+            var detachMode = partition.detachPending() ? "FINALIZE" : "CONCURRENTLY";
+            try (var statement = connection.createStatement()) {
+                statement.execute("ALTER TABLE %s DETACH PARTITION %s %s".formatted(quote(table), quote(partition.name()), detachMode));
+                statement.execute("ALTER TABLE %s SET SCHEMA ledger_archive".formatted(quote(partition.name())));
+            }
+            log.info("Ledger partition {} archived", partition.name());
+        }
+    }
+
+    private boolean tryLock(Connection connection) throws SQLException {
+        try (var statement = connection.prepareStatement(TRY_LOCK)) {
+            statement.setString(1, table);
+            try (var result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    private void unlock(Connection connection) throws SQLException {
+        try (var statement = connection.prepareStatement(UNLOCK)) {
+            statement.setString(1, table);
+            statement.execute();
+        }
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    private record PartitionToArchive(String name, boolean detachPending) {
+    }
+}
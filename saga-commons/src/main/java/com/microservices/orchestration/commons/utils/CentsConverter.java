@@ -0,0 +1,20 @@
+package com.microservices.orchestration.commons.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public final class CentsConverter {
+
+    private static final int CENTS_SCALE = 2;
+
+    private CentsConverter() {
+    }
+
+    public static long toCents(double amount) {
+        return BigDecimal
+                .valueOf(amount)
+                .setScale(CENTS_SCALE, RoundingMode.HALF_UP)
+                .unscaledValue()
+                .longValueExact();
+    }
+}
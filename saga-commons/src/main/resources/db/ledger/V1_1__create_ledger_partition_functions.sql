@@ -0,0 +1,75 @@
+CREATE SCHEMA IF NOT EXISTS ledger_archive;
+
+CREATE FUNCTION create_ledger_partition(ledger_table TEXT, partition_month DATE)
+RETURNS TEXT AS $$
+DECLARE
+    partition_name TEXT := format('%s_p%s', ledger_table, to_char(partition_month, 'YYYY_MM'));
+    default_partition TEXT := format('%s_default', ledger_table);
+    partition_end DATE := (partition_month + INTERVAL '1 month')::DATE;
+BEGIN
+    IF to_regclass(format('public.%I', partition_name)) IS NOT NULL THEN
+        RETURN NULL;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name, ledger_table);
+    IF to_regclass(format('public.%I', default_partition)) IS NOT NULL THEN
+        EXECUTE format('WITH moved AS (DELETE FROM %I WHERE created_at >= %L AND created_at < %L RETURNING *) INSERT INTO %I SELECT * FROM moved',
+                       default_partition, partition_month, partition_end, partition_name);
+    END IF;
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   ledger_table, partition_name, partition_month, partition_end);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION maintain_ledger_partitions(ledger_table TEXT, months_ahead INTEGER, retention_months INTEGER, archive_retention_months INTEGER)
+RETURNS TABLE (partition_name TEXT, action TEXT) AS $$
+DECLARE
+    current_month DATE := date_trunc('month', LOCALTIMESTAMP)::DATE;
+    partition_pattern TEXT := format('^%s_p\d{4}_\d{2}$', ledger_table);
+    archive_before TEXT := format('%s_p%s', ledger_table, to_char(current_month - make_interval(months => retention_months), 'YYYY_MM'));
+    drop_before TEXT := format('%s_p%s', ledger_table, to_char(current_month - make_interval(months => retention_months + archive_retention_months), 'YYYY_MM'));
+    default_partition TEXT := format('%s_default', ledger_table);
+    default_has_rows BOOLEAN;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext(ledger_table));
+    FOR i IN 0..months_ahead LOOP
+        partition_name := create_ledger_partition(ledger_table, (current_month + make_interval(months => i))::DATE);
+        IF partition_name IS NOT NULL THEN
+            action := 'created';
+            RETURN NEXT;
+        END IF;
+    END LOOP;
+    FOR partition_name IN
+        SELECT c.relname
+        FROM pg_inherits inh
+        JOIN pg_class c ON c.oid = inh.inhrelid
+        JOIN pg_class p ON p.oid = inh.inhparent
+        WHERE p.relname = ledger_table AND c.relname ~ partition_pattern AND c.relname < archive_before
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', ledger_table, partition_name);
+        EXECUTE format('ALTER TABLE %I SET SCHEMA ledger_archive', partition_name);
+        action := 'archived';
+        RETURN NEXT;
+    END LOOP;
+    FOR partition_name IN
+        SELECT c.relname
+        FROM pg_class c
+        JOIN pg_namespace n ON n.oid = c.relnamespace
+        WHERE n.nspname = 'ledger_archive' AND c.relkind = 'r' AND c.relname ~ partition_pattern AND c.relname < drop_before
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('DROP TABLE ledger_archive.%I', partition_name);
+        action := 'dropped';
+        RETURN NEXT;
+    END LOOP;
+    IF to_regclass(format('public.%I', default_partition)) IS NOT NULL THEN
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I)', default_partition) INTO default_has_rows;
+        IF default_has_rows THEN
+            partition_name := default_partition;
+            action := 'not empty';
+            RETURN NEXT;
+        END IF;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,78 @@
+DO $$
+DECLARE
+    ledger_table TEXT;
+    default_partition TEXT;
+    partition_month DATE;
+BEGIN
+    FOR ledger_table, default_partition IN
+        SELECT p.relname, c.relname
+        FROM pg_inherits inh
+        JOIN pg_class c ON c.oid = inh.inhrelid
+        JOIN pg_class p ON p.oid = inh.inhparent
+        JOIN pg_namespace n ON n.oid = p.relnamespace
+        WHERE n.nspname = 'public' AND c.relname = p.relname || '_default'
+    LOOP
+        FOR partition_month IN
+            EXECUTE format('SELECT DISTINCT date_trunc(''month'', created_at)::DATE FROM %I', default_partition)
+        LOOP
+            PERFORM create_ledger_partition(ledger_table, partition_month);
+        END LOOP;
+        EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', ledger_table, default_partition);
+        EXECUTE format('DROP TABLE %I', default_partition);
+    END LOOP;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION maintain_ledger_partitions(ledger_table TEXT, months_ahead INTEGER, retention_months INTEGER, archive_retention_months INTEGER)
+RETURNS TABLE (partition_name TEXT, action TEXT) AS $$
+DECLARE
+    current_month DATE := date_trunc('month', LOCALTIMESTAMP)::DATE;
+    partition_pattern TEXT := format('^%s_p\d{4}_\d{2}$', ledger_table);
+    archive_before TEXT := format('%s_p%s', ledger_table, to_char(current_month - make_interval(months => retention_months), 'YYYY_MM'));
+    drop_before TEXT := format('%s_p%s', ledger_table, to_char(current_month - make_interval(months => retention_months + archive_retention_months), 'YYYY_MM'));
+    detach_pending BOOLEAN;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext(ledger_table));
+    FOR i IN 0..months_ahead LOOP
+        partition_name := create_ledger_partition(ledger_table, (current_month + make_interval(months => i))::DATE);
+        IF partition_name IS NOT NULL THEN
+            action := 'created';
+            RETURN NEXT;
+        END IF;
+    END LOOP;
+    FOR partition_name, detach_pending IN
+        SELECT c.relname, inh.inhdetachpending
+        FROM pg_inherits inh
+        JOIN pg_class c ON c.oid = inh.inhrelid
+        JOIN pg_class p ON p.oid = inh.inhparent
+        WHERE p.relname = ledger_table AND c.relname ~ partition_pattern AND c.relname < archive_before
+        ORDER BY c.relname
+    LOOP
+        action := CASE WHEN detach_pending THEN 'detach pending' ELSE 'detach' END;
+        RETURN NEXT;
+    END LOOP;
+    FOR partition_name IN
+        SELECT c.relname
+        FROM pg_class c
+        JOIN pg_namespace n ON n.oid = c.relnamespace
+        WHERE n.nspname = 'public' AND c.relkind = 'r' AND c.relname ~ partition_pattern AND c.relname < archive_before
+          AND NOT EXISTS (SELECT 1 FROM pg_inherits inh WHERE inh.inhrelid = c.oid)
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE %I SET SCHEMA ledger_archive', partition_name);
+        action := 'archived';
+        RETURN NEXT;
+    END LOOP;
+    FOR partition_name IN
+        SELECT c.relname
+        FROM pg_class c
+        JOIN pg_namespace n ON n.oid = c.relnamespace
+        WHERE n.nspname = 'ledger_archive' AND c.relkind = 'r' AND c.relname ~ partition_pattern AND c.relname < drop_before
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('DROP TABLE ledger_archive.%I', partition_name);
+        action := 'dropped';
+        RETURN NEXT;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,118 @@
+package com.microservices.orchestration.commons.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.avro.AvroMapper;
+import com.microservices.orchestration.commons.dto.Event;
+import com.microservices.orchestration.commons.dto.Order;
+import com.microservices.orchestration.commons.dto.OrderProducts;
+import com.microservices.orchestration.commons.dto.Product;
+import com.microservices.orchestration.commons.enums.EEventSource;
+import com.microservices.orchestration.commons.enums.ESagaStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventCodecsTest {
+
+    private static final String CURRENT_SCHEMA = "event-v2";
+    private static final String LEGACY_SCHEMA = "event-v1";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final EventSchemaRegistry schemaRegistry = new EventSchemaRegistry(null);
+    private final EventCodecs<Event> eventCodecs = new EventCodecs<>(new StandardEnvironment(), objectMapper, schemaRegistry, CURRENT_SCHEMA, "json", Event.class);
+
+    @Test
+    void roundTripsAnEventThroughTheCurrentAvroSchema() throws Exception {
+        var codec = eventCodecs.forContentType(AvroEventCodec.contentType(CURRENT_SCHEMA)).orElseThrow();
+        var event = event();
+
+        var data = codec.encode(event);
+        var decoded = codec.decode(data, 0, data.length);
+
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    void resolvesALegacyAvroRecordAndConvertsItsAmountsToCents() throws Exception {
+        var legacyRecord = """
+                {
+                  "id": "event-1",
+                  "transactionId": "transaction-1",
+                  "orderId": "order-1",
+                  "payload": {
+                    "id": "order-1",
+                    "products": [
+                      { "product": { "code": "COMIC_BOOKS", "unitValue": 15.5 }, "quantity": 2 },
+                      { "product": { "code": "BOOKS", "unitValue": 9.9 }, "quantity": 1 }
+                    ],
+                    "transactionId": "transaction-1",
+                    "totalAmount": 40.9,
+                    "totalItems": 3
+                  },
+                  "source": "ORCHESTRATOR",
+                  "status": "SUCCESS"
+                }
+                """;
+        var data = new AvroMapper()
+                .writer(schemaRegistry.getSchema(LEGACY_SCHEMA))
+                .writeValueAsBytes(objectMapper.readTree(legacyRecord));
+        var codec = eventCodecs.forContentType(AvroEventCodec.contentType(LEGACY_SCHEMA)).orElseThrow();
+
+        var decoded = codec.decode(data, 0, data.length);
+
+        assertThat(decoded.getOrderId()).isEqualTo("order-1");
+        assertThat(decoded.getStatus()).isEqualTo(ESagaStatus.SUCCESS);
+        assertThat(decoded.getPayload().getTotalAmountInCents()).isEqualTo(4090);
+        assertThat(decoded.getPayload().getTotalItems()).isEqualTo(3);
+        assertThat(decoded.getPayload().getProducts())
+                .extracting(products -> products.getProduct().getUnitValueInCents())
+                .containsExactly(1550L, 990L);
+    }
+
+    @Test
+    void readsTheLegacyJsonAmountsAsCents() throws Exception {
+        var json = """
+                { "orderId": "order-1", "payload": { "products": [ { "product": { "code": "BOOKS", "unitValue": 9.99 }, "quantity": 1 } ], "totalAmount": 9.99 } }
+                """.getBytes(StandardCharsets.UTF_8);
+
+        var decoded = eventCodecs.getJsonCodec().decode(json, 0, json.length);
+
+        assertThat(decoded.getPayload().getTotalAmountInCents()).isEqualTo(999);
+        assertThat(decoded.getPayload().getProducts().getFirst().getProduct().getUnitValueInCents()).isEqualTo(999);
+    }
+
+    @Test
+    void writesOnlyTheAmountsInCentsAsJson() throws Exception {
+        var json = new String(eventCodecs.getJsonCodec().encode(event()), StandardCharsets.UTF_8);
+
+        assertThat(json).contains("\"unitValueInCents\":1550", "\"totalAmountInCents\":3100");
+        assertThat(json).doesNotContain("\"unitValue\"", "\"totalAmount\"");
+    }
+
+    private Event event() {
+        var order = Order
+                .builder()
+                .id("order-1")
+                .transactionId("transaction-1")
+                .products(List.of(new OrderProducts(new Product("COMIC_BOOKS", 1550), 2)))
+                .createdAt(LocalDateTime.of(2026, 10, 1, 12, 30, 15, 123_000_000))
+                .totalAmountInCents(3100)
+                .totalItems(2)
+                .build();
+        return Event
+                .builder()
+                .id("event-1")
+                .transactionId("transaction-1")
+                .orderId("order-1")
+                .payload(order)
+                .source(EEventSource.PAYMENT_SERVICE)
+                .status(ESagaStatus.SUCCESS)
+                .createdAt(LocalDateTime.of(2026, 10, 1, 12, 30, 16, 456_000_000))
+                .build();
+    }
+}
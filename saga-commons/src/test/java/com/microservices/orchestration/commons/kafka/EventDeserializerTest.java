@@ -0,0 +1,74 @@
+package com.microservices.orchestration.commons.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.orchestration.commons.dto.Event;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventDeserializerTest {
+
+    private static final String TOPIC = "payment-success";
+    private static final byte[] VALID_EVENT = "{ \"orderId\": \"order-1\" }".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] INVALID_EVENT = "{ \"orderId\": ".getBytes(StandardCharsets.UTF_8);
+
+    private final EventCodecs<Event> eventCodecs = new EventCodecs<>(new StandardEnvironment(), new ObjectMapper().findAndRegisterModules(), new EventSchemaRegistry(null), "event-v2", "json", Event.class);
+    private final EventDeserializer<Event> eventDeserializer = new EventDeserializer<>(eventCodecs);
+
+    @Test
+    void readsARecordWithoutContentTypeAsJson() {
+        var event = eventDeserializer.deserialize(TOPIC, new RecordHeaders(), VALID_EVENT);
+
+        assertThat(event.getOrderId()).isEqualTo("order-1");
+    }
+
+    @Test
+    void failsOnAnUnknownContentType() {
+        var headers = new RecordHeaders();
+        headers.add(EventCodec.CONTENT_TYPE_HEADER, "application/xml".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> eventDeserializer.deserialize(TOPIC, headers, VALID_EVENT))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("application/xml");
+    }
+
+    @Test
+    void failsOnARecordThatCannotBeDecoded() {
+        assertThatThrownBy(() -> eventDeserializer.deserialize(TOPIC, new RecordHeaders(), INVALID_EVENT))
+                .isInstanceOf(SerializationException.class)
+                .hasCauseInstanceOf(Exception.class);
+    }
+
+    @Test
+    void marksTheFailedRecordsOfABatchForTheErrorHandler() {
+        var records = List.of(record(0, VALID_EVENT), record(1, VALID_EVENT), record(2, INVALID_EVENT), record(3, VALID_EVENT));
+
+        assertThat(DeserializationFailures.failureOf(records.get(2))).isInstanceOf(DeserializationException.class);
+        assertThat(DeserializationFailures.valuesBeforeFailure(records))
+                .extracting(Event::getOrderId)
+                .containsExactly("order-1", "order-1");
+        assertThatThrownBy(() -> DeserializationFailures.rejectFailure(records))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class, ex -> assertThat(ex.getIndex()).isEqualTo(2))
+                .hasCauseInstanceOf(DeserializationException.class);
+    }
+
+    private ConsumerRecord<String, Event> record(long offset, byte[] data) {
+        try (var deserializer = new ErrorHandlingDeserializer<>(eventDeserializer)) {
+            var headers = new RecordHeaders();
+            var value = deserializer.deserialize(TOPIC, headers, data);
+            return new ConsumerRecord<>(TOPIC, 0, offset, 0L, null, 0, 0, "order-1", value, headers, Optional.empty());
+        }
+    }
+}